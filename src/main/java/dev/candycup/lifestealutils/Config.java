@@ -65,7 +65,7 @@ public class Config {
    @SerialEntry(comment = "List of allied player UUIDs")
    public static List<String> allianceUuids = new ArrayList<>();
 
-   @SerialEntry(comment = "Cache of UUID to username mappings for alliance members")
+   @SerialEntry(comment = "Legacy UUID to username cache, migrated into lifestealutils-uuid-cache.bin on first use")
    public static Map<String, String> uuidUsernameCache = new HashMap<>();
 
    @SerialEntry(comment = "Whether to enable custom splashes on the title screen")
@@ -122,6 +122,12 @@ public class Config {
    @SerialEntry(comment = "Enable the custom baltop interface that replaces the server's /baltop GUI")
    public static boolean customBaltopInterfaceEnabled = true;
 
+   @SerialEntry(comment = "Stop refreshing baltop once enough pages match the last saved leaderboard")
+   public static boolean baltopIncrementalRefresh = true;
+
+   @SerialEntry(comment = "How many consecutive unchanged baltop pages end an incremental refresh")
+   public static int baltopMatchingPagesToStop = 2;
+
    /**
     * Describes how the POI HUD indicator should be displayed.
     */
@@ -312,7 +318,7 @@ public class Config {
 
    public static void setEnableClaimChatFormat(boolean enable) {
       Config.enableClaimChatFormat = enable;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static String getClaimChatFormat() {
@@ -325,7 +331,7 @@ public class Config {
    */
 
    public static boolean getEnablePmFormat() {
-      Boolean forcedState = FeatureFlagController.getForcedState("enablePmFormat");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.ENABLE_PM_FORMAT);
       if (forcedState != null) {
          return forcedState;
       }
@@ -334,11 +340,11 @@ public class Config {
 
    public static void setEnablePmFormat(boolean enable) {
       Config.enablePmFormat = enable;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean getQuickJoinButtonEnabled() {
-      Boolean forcedState = FeatureFlagController.getForcedState("quickJoinButtonEnabled");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.QUICK_JOIN_BUTTON);
       if (forcedState != null) {
          return forcedState;
       }
@@ -347,11 +353,11 @@ public class Config {
 
    public static void setQuickJoinButtonEnabled(boolean enabled) {
       Config.quickJoinButtonEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean getCustomPanoramaEnabled() {
-      Boolean forcedState = FeatureFlagController.getForcedState("customPanoramaEnabled");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.CUSTOM_PANORAMA);
       if (forcedState != null) {
          return forcedState;
       }
@@ -360,11 +366,11 @@ public class Config {
 
    public static void setCustomPanoramaEnabled(boolean enabled) {
       Config.customPanoramaEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean getDisableChatTags() {
-      Boolean forcedState = FeatureFlagController.getForcedState("disableChatTags");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.DISABLE_CHAT_TAGS);
       if (forcedState != null) {
          return forcedState;
       }
@@ -373,11 +379,11 @@ public class Config {
 
    public static void setDisableChatTags(boolean enabled) {
       Config.disableChatTags = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean getRemoveUniquePlusColor() {
-      Boolean forcedState = FeatureFlagController.getForcedState("removeUniquePlusColor");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.REMOVE_UNIQUE_PLUS_COLOR);
       if (forcedState != null) {
          return forcedState;
       }
@@ -386,11 +392,11 @@ public class Config {
 
    public static void setRemoveUniquePlusColor(boolean enabled) {
       Config.removeUniquePlusColor = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean getEnableAlliances() {
-      Boolean forcedState = FeatureFlagController.getForcedState("enableAlliances");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.ENABLE_ALLIANCES);
       if (forcedState != null) {
          return forcedState;
       }
@@ -399,7 +405,7 @@ public class Config {
 
    public static void setEnableAlliances(boolean enabled) {
       Config.enableAlliances = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static int getAllianceNameColor() {
@@ -408,7 +414,7 @@ public class Config {
 
    public static void setAllianceNameColor(int color) {
       Config.allianceNameColor = color;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static Color getAllianceNameColorValue() {
@@ -418,7 +424,7 @@ public class Config {
    public static void setAllianceNameColorValue(Color color) {
       if (color == null) return;
       Config.allianceNameColor = color.getRGB();
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static String getAllianceNameColorTag() {
@@ -431,7 +437,7 @@ public class Config {
 
    public static void setAllianceUuids(List<String> uuids) {
       Config.allianceUuids = uuids;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static Map<String, String> getUuidUsernameCache() {
@@ -440,11 +446,11 @@ public class Config {
 
    public static void setUuidUsernameCache(Map<String, String> cache) {
       Config.uuidUsernameCache = cache;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean getCustomSplashes() {
-      Boolean forcedState = FeatureFlagController.getForcedState("customSplashes");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.CUSTOM_SPLASHES);
       if (forcedState != null) {
          return forcedState;
       }
@@ -453,11 +459,11 @@ public class Config {
 
    public static void setCustomSplashes(boolean enabled) {
       Config.customSplashes = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean isRareItemScaling() {
-      Boolean forcedState = FeatureFlagController.getForcedState("rareItemScaleEnabled");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.RARE_ITEM_SCALE);
       if (forcedState != null) {
          return forcedState;
       }
@@ -466,7 +472,7 @@ public class Config {
 
    public static void toggleRareItemScaling(boolean enabled) {
       Config.rareItemScaleEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static float getRareItemScaling() {
@@ -475,20 +481,27 @@ public class Config {
 
    public static void setRareItemScaling(float scale) {
       Config.rareItemScale = scale;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean isBasicTimerEnabled(String id) {
       return basicTimerEnabled.getOrDefault(id, false);
    }
 
+   // the timer maps are replaced rather than mutated so a save running on the
+   // persistence thread never sees them change mid-serialization
    public static void setBasicTimerEnabled(String id, boolean enabled) {
-      basicTimerEnabled.put(id, enabled);
-      HANDLER.save();
+      Map<String, Boolean> next = new HashMap<>(basicTimerEnabled);
+      next.put(id, enabled);
+      basicTimerEnabled = next;
+      ConfigPersistence.requestSave();
    }
 
    public static void ensureBasicTimerKnown(String id) {
-      basicTimerEnabled.putIfAbsent(id, false);
+      if (basicTimerEnabled.containsKey(id)) return;
+      Map<String, Boolean> next = new HashMap<>(basicTimerEnabled);
+      next.put(id, false);
+      basicTimerEnabled = next;
    }
 
    public static String getBasicTimerFormat(String id, String fallback) {
@@ -500,16 +513,21 @@ public class Config {
    }
 
    public static void setBasicTimerFormat(String id, String format) {
-      basicTimerFormatOverrides.put(id, format);
-      HANDLER.save();
+      Map<String, String> next = new HashMap<>(basicTimerFormatOverrides);
+      next.put(id, format);
+      basicTimerFormatOverrides = next;
+      ConfigPersistence.requestSave();
    }
 
    public static void ensureBasicTimerFormat(String id, String fallback) {
-      basicTimerFormatOverrides.putIfAbsent(id, fallback);
+      if (basicTimerFormatOverrides.containsKey(id)) return;
+      Map<String, String> next = new HashMap<>(basicTimerFormatOverrides);
+      next.put(id, fallback);
+      basicTimerFormatOverrides = next;
    }
 
    public static boolean isChainCounterEnabled() {
-      Boolean forcedState = FeatureFlagController.getForcedState("chainCounterEnabled");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.CHAIN_COUNTER);
       if (forcedState != null) {
          return forcedState;
       }
@@ -518,7 +536,7 @@ public class Config {
 
    public static void setChainCounterEnabled(boolean enabled) {
       chainCounterEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static String getChainCounterFormat(String fallback) {
@@ -530,7 +548,7 @@ public class Config {
 
    public static void setChainCounterFormat(String format) {
       chainCounterFormat = format;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static void ensureChainCounterFormat(String fallback) {
@@ -545,7 +563,7 @@ public class Config {
 
    public static void setHeavenlyDurabilityCalculatorEnabled(boolean enabled) {
       heavenlyDurabilityCalculatorEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static String getHeavenlyDurabilityFormat(String fallback) {
@@ -557,7 +575,7 @@ public class Config {
 
    public static void setHeavenlyDurabilityFormat(String format) {
       heavenlyDurabilityCalculatorFormat = format;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static void ensureHeavenlyDurabilityFormat(String fallback) {
@@ -567,14 +585,14 @@ public class Config {
    }
 
    public static boolean getPoiWaypointsEnabled() {
-      Boolean forced = FeatureFlagController.getForcedState("poiWaypointsEnabled");
+      Boolean forced = FeatureFlagController.getForcedState(FeatureKey.POI_WAYPOINTS);
       if (forced != null) return forced;
       return poiWaypointsEnabled;
    }
 
    public static void setPoiWaypointsEnabled(boolean enabled) {
       poiWaypointsEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    /**
@@ -594,7 +612,7 @@ public class Config {
     */
    public static void setPoiHudIndicatorMode(PoiHudIndicatorMode mode) {
       poiHudIndicatorMode = mode == null ? PoiHudIndicatorMode.TEXT_AND_COMPASS : mode;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    /**
@@ -630,18 +648,18 @@ public class Config {
       if (poiHudIndicatorMode == null) {
          poiHudIndicatorMode = enabled ? PoiHudIndicatorMode.TEXT_AND_COMPASS : PoiHudIndicatorMode.ONLY_TEXT;
       }
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean isPoiAlwaysShowClosest() {
-      Boolean forced = FeatureFlagController.getForcedState("poiAlwaysShowClosest");
+      Boolean forced = FeatureFlagController.getForcedState(FeatureKey.POI_ALWAYS_SHOW_CLOSEST);
       if (forced != null) return forced;
       return poiAlwaysShowClosest;
    }
 
    public static void setPoiAlwaysShowClosest(boolean enabled) {
       poiAlwaysShowClosest = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static String getPoiWaypointFormat(String fallback) {
@@ -653,7 +671,7 @@ public class Config {
 
    public static void setPoiWaypointFormat(String format) {
       poiWaypointFormat = format;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static void ensurePoiWaypointFormat(String fallback) {
@@ -671,7 +689,7 @@ public class Config {
       if (!isXaeroMinimapInstalled()) {
          return false;
       }
-      Boolean forced = FeatureFlagController.getForcedState("xaeroPoiWaypointsEnabled");
+      Boolean forced = FeatureFlagController.getForcedState(FeatureKey.XAERO_POI_WAYPOINTS);
       if (forced != null) return forced;
       return xaeroPoiWaypointsEnabled;
    }
@@ -683,7 +701,7 @@ public class Config {
     */
    public static void setXaeroPoiWaypointsEnabled(boolean enabled) {
       xaeroPoiWaypointsEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    /**
@@ -714,11 +732,11 @@ public class Config {
 
    public static void setPoiTrackedId(String id) {
       poiTrackedId = id == null ? "" : id;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean isAutoJoinLifestealOnHub() {
-      Boolean forcedState = FeatureFlagController.getForcedState("autoJoinLifestealOnHub");
+      Boolean forcedState = FeatureFlagController.getForcedState(FeatureKey.AUTO_JOIN_LIFESTEAL_ON_HUB);
       if (forcedState != null) {
          return forcedState;
       }
@@ -727,7 +745,7 @@ public class Config {
 
    public static void setAutoJoinLifestealOnHub(boolean enabled) {
       autoJoinLifestealOnHub = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
    }
 
    public static boolean isCustomBaltopInterfaceEnabled() {
@@ -736,7 +754,25 @@ public class Config {
 
    public static void setCustomBaltopInterfaceEnabled(boolean enabled) {
       customBaltopInterfaceEnabled = enabled;
-      HANDLER.save();
+      ConfigPersistence.requestSave();
+   }
+
+   public static boolean isBaltopIncrementalRefresh() {
+      return baltopIncrementalRefresh;
+   }
+
+   public static void setBaltopIncrementalRefresh(boolean enabled) {
+      baltopIncrementalRefresh = enabled;
+      ConfigPersistence.requestSave();
+   }
+
+   public static int getBaltopMatchingPagesToStop() {
+      return Math.max(1, baltopMatchingPagesToStop);
+   }
+
+   public static void setBaltopMatchingPagesToStop(int pages) {
+      baltopMatchingPagesToStop = Math.max(1, pages);
+      ConfigPersistence.requestSave();
    }
 
    public static void load() {
@@ -799,6 +835,24 @@ public class Config {
                                       .controller(TickBoxControllerBuilder::create)
                                       .build()
                               )
+                              .option(Option.<Boolean>createBuilder()
+                                      .name(Component.translatable("lsu.option.baltopIncrementalRefresh.name"))
+                                      .description(OptionDescription.createBuilder()
+                                              .text(Component.translatable("lsu.option.baltopIncrementalRefresh.description"))
+                                              .build())
+                                      .binding(true, Config::isBaltopIncrementalRefresh, Config::setBaltopIncrementalRefresh)
+                                      .controller(TickBoxControllerBuilder::create)
+                                      .build()
+                              )
+                              .option(Option.<Integer>createBuilder()
+                                      .name(Component.translatable("lsu.option.baltopMatchingPagesToStop.name"))
+                                      .description(OptionDescription.createBuilder()
+                                              .text(Component.translatable("lsu.option.baltopMatchingPagesToStop.description"))
+                                              .build())
+                                      .binding(2, Config::getBaltopMatchingPagesToStop, Config::setBaltopMatchingPagesToStop)
+                                      .controller(opt -> IntegerSliderControllerBuilder.create(opt).range(1, 10).step(1))
+                                      .build()
+                              )
                               .build()
                       )
                       .group(OptionGroup.createBuilder()
@@ -0,0 +1,147 @@
+package dev.candycup.lifestealutils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import dev.isxander.yacl3.config.v2.api.ConfigClassHandler;
+import dev.isxander.yacl3.config.v2.api.serializer.GsonConfigSerializerBuilder;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.resources.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * write-behind persistence for {@link Config}.
+ * <p>
+ * setters call {@link #requestSave()}, which only bumps a counter. changes arriving within
+ * {@link #SAVE_DELAY_MS} of each other are coalesced into one save that runs on a background
+ * thread. the config is serialized to a temp file and atomically renamed over the real one,
+ * so a crash mid-write leaves the previous file intact. YACL logs its own write errors rather
+ * than throwing, so the temp file is only moved into place if it parses back; otherwise the
+ * old file is kept and the save is retried.
+ */
+public final class ConfigPersistence {
+   private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/config");
+   private static final long SAVE_DELAY_MS = 750;
+   private static final long RETRY_DELAY_MS = 5000;
+
+   private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("lifestealutils.json5");
+   private static final Path TEMP_PATH = CONFIG_PATH.resolveSibling("lifestealutils.json5.tmp");
+
+   // serializes the same static fields as Config.HANDLER, but into the temp file
+   private static final ConfigClassHandler<Config> TEMP_WRITER = ConfigClassHandler.createBuilder(Config.class)
+           .id(Identifier.fromNamespaceAndPath("lifestealutils", "config_writer"))
+           .serializer(config -> GsonConfigSerializerBuilder.create(config)
+                   .setPath(TEMP_PATH)
+                   .appendGsonBuilder(GsonBuilder::setPrettyPrinting)
+                   .setJson5(true)
+                   .build())
+           .build();
+
+   private static final ScheduledExecutorService EXECUTOR = createExecutor();
+   private static final AtomicLong REQUESTED = new AtomicLong();
+   private static final AtomicBoolean SCHEDULED = new AtomicBoolean();
+   private static final Object WRITE_LOCK = new Object();
+   private static long written = 0;
+
+   private ConfigPersistence() {
+   }
+
+   /**
+    * marks the config dirty and schedules a save if one isn't already pending.
+    */
+   public static void requestSave() {
+      REQUESTED.incrementAndGet();
+      scheduleSave(SAVE_DELAY_MS);
+   }
+
+   /**
+    * writes any pending changes on the calling thread. used on shutdown.
+    */
+   public static void flush() {
+      writeIfDirty();
+   }
+
+   private static void scheduleSave(long delayMs) {
+      if (SCHEDULED.compareAndSet(false, true)) {
+         EXECUTOR.schedule(ConfigPersistence::runScheduledSave, delayMs, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   private static void runScheduledSave() {
+      // cleared before reading the counter so a request racing with this save schedules another
+      SCHEDULED.set(false);
+      writeIfDirty();
+   }
+
+   private static void writeIfDirty() {
+      synchronized (WRITE_LOCK) {
+         long requested = REQUESTED.get();
+         if (requested == written) {
+            return;
+         }
+         try {
+            // a stale temp file from an earlier run must not pass for this write
+            Files.deleteIfExists(TEMP_PATH);
+            TEMP_WRITER.save();
+            if (!isReadable(TEMP_PATH)) {
+               LOGGER.warn("[lsu-config] config write was missing or unreadable, keeping the old file");
+               scheduleSave(RETRY_DELAY_MS);
+               return;
+            }
+            moveIntoPlace();
+            written = requested;
+         } catch (Exception e) {
+            LOGGER.error("[lsu-config] failed to save config", e);
+            scheduleSave(RETRY_DELAY_MS);
+         }
+      }
+   }
+
+   /**
+    * @return true if the file exists, isn't empty and holds a whole JSON5 object
+    */
+   private static boolean isReadable(Path path) {
+      try {
+         if (!Files.isRegularFile(path) || Files.size(path) == 0) {
+            return false;
+         }
+         // parseReader is lenient, which covers the comments YACL writes into json5
+         try (Reader reader = Files.newBufferedReader(path)) {
+            return JsonParser.parseReader(reader).isJsonObject();
+         }
+      } catch (IOException | JsonParseException e) {
+         return false;
+      }
+   }
+
+   private static void moveIntoPlace() throws IOException {
+      try {
+         Files.move(TEMP_PATH, CONFIG_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+         Files.move(TEMP_PATH, CONFIG_PATH, StandardCopyOption.REPLACE_EXISTING);
+      }
+   }
+
+   private static ScheduledExecutorService createExecutor() {
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+         Thread thread = new Thread(runnable, "lsu-config-writer");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+   }
+}
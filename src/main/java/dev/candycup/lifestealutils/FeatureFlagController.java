@@ -6,14 +6,23 @@ import com.google.gson.annotations.SerializedName;
 import dev.candycup.lifestealutils.features.timers.BasicTimerDefinition;
 import dev.candycup.lifestealutils.interapi.NetworkUtilsController;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class FeatureFlagController {
    private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/feature-flags");
@@ -21,28 +30,89 @@ public final class FeatureFlagController {
    private static final String FEATURE_FLAG_URL = "https://gist.githubusercontent.com/Karkkikuppi/4146e00d65849ac142bbad711982c69e/raw/lsu.json";
    private static final String CURRENT_VERSION = detectModVersion();
 
-   private static FeatureFlagPayload payload = new FeatureFlagPayload();
-   private static boolean loaded = false;
+   private static final Path CACHE_PATH = FabricLoader.getInstance().getConfigDir()
+           .resolve("lifestealutils").resolve("feature-flags.json");
+   private static final List<Runnable> UPDATE_LISTENERS = new CopyOnWriteArrayList<>();
+
+   private static volatile Snapshot snapshot = compile(new FeatureFlagPayload(), null);
+   private static volatile boolean loaded = false;
 
    private FeatureFlagController() {
    }
 
-   public static synchronized void ensureLoaded() {
+   public static void ensureLoaded() {
       if (loaded) {
          return;
       }
-      load();
+      synchronized (FeatureFlagController.class) {
+         if (!loaded) {
+            load();
+         }
+      }
    }
 
+   /**
+    * loads the last-known-good payload from disk and starts a background refresh.
+    * never waits on the network; until the refresh lands (or on a first run with no
+    * saved payload) features run with whatever the disk copy says.
+    */
    public static synchronized void load() {
       loaded = true;
-      String raw = fetchFeatureFlagJson();
-      payload = parsePayload(raw);
-      LOGGER.info("[lsu-flags] feature flags loaded ({} feature keys, {} timers)", payload.features.size(), payload.basicTimers.size());
+      String cached = readCachedJson();
+      if (cached != null) {
+         snapshot = compile(parsePayload(cached), cached);
+         LOGGER.info("[lsu-flags] feature flags loaded from disk ({} feature keys, {} timers)", snapshot.rules().size(), snapshot.basicTimers().size());
+      } else {
+         LOGGER.info("[lsu-flags] no saved feature flags yet; starting with an empty payload");
+      }
+      refreshAsync();
+   }
+
+   /**
+    * registers a callback run on the client thread whenever a refreshed payload differs
+    * from the one in use.
+    */
+   public static void addUpdateListener(Runnable listener) {
+      UPDATE_LISTENERS.add(listener);
+   }
+
+   /**
+    * fetches the remote payload off-thread and swaps it in on the client thread if it changed.
+    */
+   public static void refreshAsync() {
+      NetworkUtilsController.getAsync(FEATURE_FLAG_URL).thenAccept(result -> {
+         String raw = extractBody(result);
+         if (raw == null) {
+            return;
+         }
+         FeatureFlagPayload parsed = tryParsePayload(raw);
+         if (parsed == null) {
+            LOGGER.warn("[lsu-flags] ignoring unparseable feature flag payload; keeping the previous one");
+            return;
+         }
+         Minecraft.getInstance().execute(() -> applyRefreshed(raw, parsed));
+      });
    }
 
-   private static String fetchFeatureFlagJson() {
-      NetworkUtilsController.HttpResult result = NetworkUtilsController.get(FEATURE_FLAG_URL);
+   private static void applyRefreshed(String raw, FeatureFlagPayload parsed) {
+      synchronized (FeatureFlagController.class) {
+         if (raw.equals(snapshot.json())) {
+            return;
+         }
+         snapshot = compile(parsed, raw);
+      }
+      writeCachedJson(raw);
+      LOGGER.info("[lsu-flags] feature flags updated ({} feature keys, {} timers)", snapshot.rules().size(), snapshot.basicTimers().size());
+      for (Runnable listener : UPDATE_LISTENERS) {
+         try {
+            listener.run();
+         } catch (Exception e) {
+            LOGGER.error("[lsu-flags] feature flag update listener failed", e);
+         }
+      }
+   }
+
+   private static String extractBody(NetworkUtilsController.HttpResult result) {
       if (result.success() && result.body() != null) {
          return result.body();
       }
@@ -51,14 +121,54 @@ public final class FeatureFlagController {
       } else {
          LOGGER.error("[lsu-flags] failed to fetch feature flags: {}", result.error());
       }
-      return "{}";
+      return null;
+   }
+
+   private static String readCachedJson() {
+      if (!Files.exists(CACHE_PATH)) {
+         return null;
+      }
+      try {
+         String raw = Files.readString(CACHE_PATH, StandardCharsets.UTF_8);
+         return tryParsePayload(raw) != null ? raw : null;
+      } catch (IOException e) {
+         LOGGER.warn("[lsu-flags] failed to read saved feature flags", e);
+         return null;
+      }
+   }
+
+   private static void writeCachedJson(String raw) {
+      Path temp = CACHE_PATH.resolveSibling("feature-flags.json.tmp");
+      try {
+         Files.createDirectories(CACHE_PATH.getParent());
+         Files.writeString(temp, raw, StandardCharsets.UTF_8);
+         try {
+            Files.move(temp, CACHE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, CACHE_PATH, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } catch (IOException e) {
+         LOGGER.warn("[lsu-flags] failed to save feature flags", e);
+      }
    }
 
    private static FeatureFlagPayload parsePayload(String json) {
+      FeatureFlagPayload parsed = tryParsePayload(json);
+      if (parsed == null) {
+         LOGGER.error("[lsu-flags] failed to parse feature flag payload; using empty payload");
+         return new FeatureFlagPayload();
+      }
+      return parsed;
+   }
+
+   /**
+    * @return the parsed payload with missing sections defaulted, or null if the json is unusable
+    */
+   private static FeatureFlagPayload tryParsePayload(String json) {
       try {
          FeatureFlagPayload parsed = GSON.fromJson(json, FeatureFlagPayload.class);
          if (parsed == null) {
-            return new FeatureFlagPayload();
+            return null;
          }
          if (parsed.features == null) {
             parsed.features = Collections.emptyMap();
@@ -72,10 +182,13 @@ public final class FeatureFlagController {
          if (parsed.splashes == null) {
             parsed.splashes = Collections.emptyList();
          }
+         if (parsed.pois == null) {
+            parsed.pois = Collections.emptyList();
+         }
          return parsed;
       } catch (Exception e) {
-         LOGGER.error("[lsu-flags] failed to parse feature flag payload; using empty payload", e);
-         return new FeatureFlagPayload();
+         LOGGER.debug("[lsu-flags] feature flag json did not parse", e);
+         return null;
       }
    }
 
@@ -83,13 +196,21 @@ public final class FeatureFlagController {
       return getForcedState(featureKey) != null;
    }
 
+   /**
+    * @return the forced state for a known feature, or null if the user's setting applies.
+    * a plain array read; safe for per-frame callers.
+    */
+   public static Boolean getForcedState(FeatureKey featureKey) {
+      return snapshot.forced()[featureKey.ordinal()];
+   }
+
    public static Boolean getForcedState(String featureKey) {
-      FeatureFlagRule rule = selectRule(featureKey);
+      FeatureFlagRule rule = snapshot.rules().get(featureKey);
       return rule != null ? rule.forceState : null;
    }
 
    public static String getReasoning(String featureKey) {
-      FeatureFlagRule rule = selectRule(featureKey);
+      FeatureFlagRule rule = snapshot.rules().get(featureKey);
       return rule != null ? rule.reasoning : null;
    }
 
@@ -98,18 +219,11 @@ public final class FeatureFlagController {
    }
 
    public static List<BasicTimerDefinition> getBasicTimers() {
-      List<BasicTimerDefinition> timers = new ArrayList<>();
-      for (FeatureFlagTimer timer : payload.basicTimers) {
-         BasicTimerDefinition definition = timer.toDefinition();
-         if (definition != null) {
-            timers.add(definition);
-         }
-      }
-      return timers;
+      return snapshot.basicTimers();
    }
 
    public static String getTrigger(String triggerKey) {
-      return payload.triggers.get(triggerKey);
+      return snapshot.triggers().get(triggerKey);
    }
 
    /**
@@ -118,19 +232,7 @@ public final class FeatureFlagController {
     */
    public static List<PoiDefinition> getPois() {
       ensureLoaded();
-      List<PoiDefinition> list = new ArrayList<>();
-      for (FeatureFlagPoi p : payload.pois) {
-         if (p == null || p.id == null || p.name == null) continue;
-         boolean disabled = p.disabled != null && p.disabled;
-         if (disabled) {
-            continue;
-         }
-         double x = p.x != null ? p.x : 0.0;
-         double y = p.y != null ? p.y : 0.0;
-         double z = p.z != null ? p.z : 0.0;
-         list.add(new PoiDefinition(p.id, p.name, x, y, z, p.dimension, false));
-      }
-      return list;
+      return snapshot.pois();
    }
 
    /**
@@ -140,16 +242,7 @@ public final class FeatureFlagController {
     */
    public static List<PoiDefinition> getPoisIncludingDisabled() {
       ensureLoaded();
-      List<PoiDefinition> list = new ArrayList<>();
-      for (FeatureFlagPoi p : payload.pois) {
-         if (p == null || p.id == null || p.name == null) continue;
-         boolean disabled = p.disabled != null && p.disabled;
-         double x = p.x != null ? p.x : 0.0;
-         double y = p.y != null ? p.y : 0.0;
-         double z = p.z != null ? p.z : 0.0;
-         list.add(new PoiDefinition(p.id, p.name, x, y, z, p.dimension, disabled));
-      }
-      return list;
+      return snapshot.poisIncludingDisabled();
    }
 
    /**
@@ -158,16 +251,84 @@ public final class FeatureFlagController {
     * @return the list of splash texts, or an empty list if none are configured
     */
    public static List<String> getSplashes() {
-      return new ArrayList<>(payload.splashes);
+      return snapshot.splashes();
    }
 
-   private static FeatureFlagRule selectRule(String featureKey) {
-      List<FeatureFlagRule> rules = payload.features.get(featureKey);
+   /**
+    * resolves every rule against the running mod version and prebuilds the derived lists,
+    * so readers never parse versions or allocate.
+    */
+   private static Snapshot compile(FeatureFlagPayload source, String json) {
+      Map<String, FeatureFlagRule> rules = new HashMap<>();
+      for (Map.Entry<String, List<FeatureFlagRule>> entry : source.features.entrySet()) {
+         FeatureFlagRule rule = selectRule(entry.getValue());
+         if (rule != null) {
+            rules.put(entry.getKey(), rule);
+         }
+      }
+
+      FeatureKey[] keys = FeatureKey.values();
+      Boolean[] forced = new Boolean[keys.length];
+      for (FeatureKey key : keys) {
+         FeatureFlagRule rule = rules.get(key.key());
+         forced[key.ordinal()] = rule != null ? rule.forceState : null;
+      }
+
+      List<BasicTimerDefinition> timers = new ArrayList<>();
+      for (FeatureFlagTimer timer : source.basicTimers) {
+         BasicTimerDefinition definition = timer != null ? timer.toDefinition() : null;
+         if (definition != null) {
+            timers.add(definition);
+         }
+      }
+
+      List<PoiDefinition> pois = new ArrayList<>();
+      List<PoiDefinition> allPois = new ArrayList<>();
+      for (FeatureFlagPoi p : source.pois) {
+         if (p == null || p.id == null || p.name == null) continue;
+         boolean disabled = p.disabled != null && p.disabled;
+         double x = p.x != null ? p.x : 0.0;
+         double y = p.y != null ? p.y : 0.0;
+         double z = p.z != null ? p.z : 0.0;
+         PoiDefinition definition = new PoiDefinition(p.id, p.name, x, y, z, p.dimension, disabled);
+         allPois.add(definition);
+         if (!disabled) {
+            pois.add(definition);
+         }
+      }
+
+      List<String> splashes = new ArrayList<>();
+      for (String splash : source.splashes) {
+         if (splash != null) {
+            splashes.add(splash);
+         }
+      }
+
+      Map<String, String> triggers = new HashMap<>();
+      for (Map.Entry<String, String> entry : source.triggers.entrySet()) {
+         if (entry.getKey() != null && entry.getValue() != null) {
+            triggers.put(entry.getKey(), entry.getValue());
+         }
+      }
+
+      return new Snapshot(
+              forced,
+              Map.copyOf(rules),
+              List.copyOf(timers),
+              List.copyOf(pois),
+              List.copyOf(allPois),
+              List.copyOf(splashes),
+              Map.copyOf(triggers),
+              json
+      );
+   }
+
+   private static FeatureFlagRule selectRule(List<FeatureFlagRule> rules) {
       if (rules == null || rules.isEmpty()) {
          return null;
       }
       for (FeatureFlagRule rule : rules) {
-         if (rule.matches(CURRENT_VERSION)) {
+         if (rule != null && rule.matches(CURRENT_VERSION)) {
             return rule;
          }
       }
@@ -246,6 +407,25 @@ public final class FeatureFlagController {
       GT, GTE, LT, LTE, EQ
    }
 
+   /**
+    * a payload compiled for this mod version. published as a whole; never mutated.
+    *
+    * @param forced forced states indexed by {@link FeatureKey#ordinal()}, null where unforced
+    * @param rules  the rule that applies to this version, per feature key
+    * @param json   the raw payload it was built from, null for the built-in empty payload
+    */
+   private record Snapshot(
+           Boolean[] forced,
+           Map<String, FeatureFlagRule> rules,
+           List<BasicTimerDefinition> basicTimers,
+           List<PoiDefinition> pois,
+           List<PoiDefinition> poisIncludingDisabled,
+           List<String> splashes,
+           Map<String, String> triggers,
+           String json
+   ) {
+   }
+
    private static final class FeatureFlagPayload {
       Map<String, List<FeatureFlagRule>> features = Collections.emptyMap();
       List<FeatureFlagTimer> basicTimers = Collections.emptyList();
@@ -0,0 +1,36 @@
+package dev.candycup.lifestealutils;
+
+/**
+ * feature flag keys that gate a config toggle.
+ * <p>
+ * the forced state of each key is resolved once per payload, so checking one of these
+ * is an array read rather than a map lookup and version comparison.
+ */
+public enum FeatureKey {
+   ENABLE_PM_FORMAT("enablePmFormat"),
+   QUICK_JOIN_BUTTON("quickJoinButtonEnabled"),
+   CUSTOM_PANORAMA("customPanoramaEnabled"),
+   DISABLE_CHAT_TAGS("disableChatTags"),
+   REMOVE_UNIQUE_PLUS_COLOR("removeUniquePlusColor"),
+   ENABLE_ALLIANCES("enableAlliances"),
+   CUSTOM_SPLASHES("customSplashes"),
+   RARE_ITEM_SCALE("rareItemScaleEnabled"),
+   CHAIN_COUNTER("chainCounterEnabled"),
+   POI_WAYPOINTS("poiWaypointsEnabled"),
+   POI_ALWAYS_SHOW_CLOSEST("poiAlwaysShowClosest"),
+   XAERO_POI_WAYPOINTS("xaeroPoiWaypointsEnabled"),
+   AUTO_JOIN_LIFESTEAL_ON_HUB("autoJoinLifestealOnHub");
+
+   private final String key;
+
+   FeatureKey(String key) {
+      this.key = key;
+   }
+
+   /**
+    * @return the key as it appears in the remote payload
+    */
+   public String key() {
+      return key;
+   }
+}
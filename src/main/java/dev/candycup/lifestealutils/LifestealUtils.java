@@ -1,12 +1,16 @@
 package dev.candycup.lifestealutils;
 
 import com.mojang.blaze3d.platform.InputConstants;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import dev.candycup.lifestealutils.api.LifestealContext;
 import dev.candycup.lifestealutils.event.EventBus;
 import dev.candycup.lifestealutils.event.events.ClientTickEvent;
 import dev.candycup.lifestealutils.features.alliances.Alliances;
+import dev.candycup.lifestealutils.features.alliances.UuidResolver;
 import dev.candycup.lifestealutils.features.afk.AfkMode;
 import dev.candycup.lifestealutils.features.baltop.BaltopScraper;
+import dev.candycup.lifestealutils.features.baltop.BaltopSnapshotStore;
 import dev.candycup.lifestealutils.features.combat.HeavenlyDurabilityCalculator;
 import dev.candycup.lifestealutils.features.items.RareItemHighlight;
 import dev.candycup.lifestealutils.features.messages.ChatTagRemover;
@@ -14,6 +18,7 @@ import dev.candycup.lifestealutils.features.messages.PrivateMessageFormatter;
 import dev.candycup.lifestealutils.features.messages.RankPlusColorNormalizer;
 import dev.candycup.lifestealutils.features.qol.AutoJoinLifesteal;
 import dev.candycup.lifestealutils.features.qol.ManualShardSwapTracker;
+import dev.candycup.lifestealutils.features.radar.RadarLayers;
 import dev.candycup.lifestealutils.features.titlescreen.CustomSplashes;
 import dev.candycup.lifestealutils.features.titlescreen.QuickJoinButton;
 import dev.candycup.lifestealutils.hud.HudDisplayLayer;
@@ -30,6 +35,7 @@ import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElementRegistry;
@@ -64,6 +70,7 @@ public final class LifestealUtils implements ClientModInitializer {
    private static int pendingHudEditorOpenTicks = -1;
    private static int pendingRadarOpenTicks = -1;
    private static boolean pendingBaltopScrape = false;
+   private static int pendingBaltopPageLimit = 0;
 
    private static UnbrokenChainTracker unbrokenChainTracker;
    private static HeavenlyDurabilityCalculator heavenlyDurabilityCalculator;
@@ -83,6 +90,11 @@ public final class LifestealUtils implements ClientModInitializer {
       Config.load();
 
       HudElementManager.init();
+      // read the baltop history in the background so /baltop opens on it without waiting
+      BaltopSnapshotStore.load();
+
+      // shard and dimension classification shared by the POI features and the radar
+      EventBus.getInstance().register(LifestealContext.getInstance());
 
       basicTimerManager = new BasicTimerManager(FeatureFlagController.getBasicTimers());
       EventBus.getInstance().register(basicTimerManager);
@@ -129,6 +141,25 @@ public final class LifestealUtils implements ClientModInitializer {
       EventBus.getInstance().register(poiWaypointTracker);
       HudElementManager.register(poiWaypointTracker.getHudDefinition());
 
+      // radar data layers (visited chunks, POIs)
+      RadarLayers radarLayers = RadarLayers.getInstance();
+      EventBus.getInstance().register(radarLayers);
+      radarLayers.reloadPois();
+
+      // hot-swap timers and POIs when the background flag refresh brings a new payload.
+      // splashes and the xaero integration read the payload on demand and need no hook.
+      FeatureFlagController.addUpdateListener(() -> {
+         for (HudElementDefinition definition : basicTimerManager.getHudDefinitions()) {
+            HudElementManager.unregister(definition.id());
+         }
+         basicTimerManager.reconfigure(FeatureFlagController.getBasicTimers());
+         for (HudElementDefinition definition : basicTimerManager.getHudDefinitions()) {
+            HudElementManager.register(definition);
+         }
+         poiWaypointTracker.reloadPois();
+         radarLayers.reloadPois();
+      });
+
       if (FabricLoader.getInstance().isModLoaded("xaerominimap")) {
          XaeroPoiWaypointIntegration xaeroPoiWaypointIntegration = new XaeroPoiWaypointIntegration();
          EventBus.getInstance().register(xaeroPoiWaypointIntegration);
@@ -182,8 +213,20 @@ public final class LifestealUtils implements ClientModInitializer {
       ));
       *///?}
 
+      // config saves are debounced on a background thread; write anything still pending
+      ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+         ConfigPersistence.flush();
+         BaltopSnapshotStore.flush();
+         UuidResolver.flushCache();
+      });
+
       ClientTickEvents.END_CLIENT_TICK.register(client -> {
-         EventBus.getInstance().post(new ClientTickEvent(client));
+         ClientTickEvent tickEvent = ClientTickEvent.obtain(client);
+         try {
+            EventBus.getInstance().post(tickEvent);
+         } finally {
+            tickEvent.release();
+         }
 
          if (client.player == null) return;
          if (pendingConfigOpenTicks >= 0) {
@@ -224,8 +267,10 @@ public final class LifestealUtils implements ClientModInitializer {
                        error -> {
                           LOGGER.warn("Baltop scraping failed: {}", error);
                           MessagingUtils.showMiniMessage("<red>Failed to load baltop: " + error + "</red>");
-                       }
+                       },
+                       pendingBaltopPageLimit
                );
+               pendingBaltopPageLimit = 0;
             }
          }
          // tick the scraper (handles pending clicks and timeout)
@@ -315,7 +360,20 @@ public final class LifestealUtils implements ClientModInitializer {
                                        }
                                     });
                                     return 1;
-                                 }))
+                                 })
+                                 .then(ClientCommandManager.argument("pages", IntegerArgumentType.integer(1, 50))
+                                         .executes(commandContext -> {
+                                            int pages = IntegerArgumentType.getInteger(commandContext, "pages");
+                                            Minecraft client = Minecraft.getInstance();
+                                            client.execute(() -> {
+                                               if (Config.isCustomBaltopInterfaceEnabled()) {
+                                                  queueBaltopScrape(pages);
+                                               } else if (client.player != null) {
+                                                  client.player.connection.sendCommand("baltop");
+                                               }
+                                            });
+                                            return 1;
+                                         })))
                          .then(ClientCommandManager.literal("alliances")
                                  .executes(commandContext -> {
                                     Alliances.showAllianceList();
@@ -439,6 +497,16 @@ public final class LifestealUtils implements ClientModInitializer {
     * Queues the custom baltop interface to open once no other screen is active.
     */
    public static void queueBaltopScrape() {
+      pendingBaltopPageLimit = 0;
+      pendingBaltopScrape = true;
+   }
+
+   /**
+    * queues a refresh of only the top {@code pages} baltop pages; lower ranks come from the
+    * last saved leaderboard.
+    */
+   public static void queueBaltopScrape(int pages) {
+      pendingBaltopPageLimit = pages;
       pendingBaltopScrape = true;
    }
 
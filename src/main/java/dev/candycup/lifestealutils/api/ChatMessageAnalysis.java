@@ -0,0 +1,123 @@
+package dev.candycup.lifestealutils.api;
+
+import net.minecraft.network.chat.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * one-shot classification of an incoming chat line.
+ * <p>
+ * the plain text is extracted once and run through a single combined pattern that
+ * recognises every message shape the chat features care about, so listeners read the
+ * result instead of each calling {@code getString()} and running their own regex.
+ */
+public final class ChatMessageAnalysis {
+   /**
+    * alternatives are tried in order: private messages, player chat, claim chat.
+    * player chat is one or more bracketed tags ([LEGEND+], [No-Life], ...) followed by a
+    * name and a colon; claim chat is "claim | user: message".
+    */
+   private static final Pattern CLASSIFIER = Pattern.compile(
+           "^(?:"
+                   + "\\(MSG\\s+(?<pmDirection>From|To)\\s+(?<pmSender>[^)]+)\\)\\s+(?<pmBody>.*)"
+                   + "|(?<chatPrefix>(?:[^\\[\\]:]*\\[[^\\]]*\\])+[^\\[\\]:]{0,50}):\\s*(?<chatBody>.*)"
+                   + "|(?<claim>[^|]+?)\\s*\\|\\s*(?<claimSender>[^:]+):\\s+(?<claimBody>.*)"
+                   + ")$",
+           Pattern.CASE_INSENSITIVE
+   );
+
+   public enum Kind {
+      PRIVATE_MESSAGE,
+      PLAYER_CHAT,
+      CLAIM_CHAT,
+      SYSTEM
+   }
+
+   private final String plainText;
+   private final Kind kind;
+   private final String direction;
+   private final String sender;
+   private final String claim;
+   private final String body;
+
+   private ChatMessageAnalysis(String plainText, Kind kind, String direction, String sender, String claim, String body) {
+      this.plainText = plainText;
+      this.kind = kind;
+      this.direction = direction;
+      this.sender = sender;
+      this.claim = claim;
+      this.body = body;
+   }
+
+   /**
+    * analyses a received chat component.
+    *
+    * @param message the message as received from the server
+    * @return the analysis, never null
+    */
+   public static ChatMessageAnalysis of(Component message) {
+      String plainText = message != null ? message.getString() : "";
+      if (plainText.isBlank()) {
+         return new ChatMessageAnalysis(plainText, Kind.SYSTEM, null, null, null, plainText);
+      }
+
+      Matcher matcher = CLASSIFIER.matcher(plainText);
+      if (!matcher.matches()) {
+         return new ChatMessageAnalysis(plainText, Kind.SYSTEM, null, null, null, plainText);
+      }
+      if (matcher.group("pmDirection") != null) {
+         return new ChatMessageAnalysis(plainText, Kind.PRIVATE_MESSAGE,
+                 matcher.group("pmDirection"), matcher.group("pmSender"), null, matcher.group("pmBody"));
+      }
+      if (matcher.group("chatPrefix") != null) {
+         return new ChatMessageAnalysis(plainText, Kind.PLAYER_CHAT,
+                 null, null, null, matcher.group("chatBody"));
+      }
+      return new ChatMessageAnalysis(plainText, Kind.CLAIM_CHAT,
+              null, matcher.group("claimSender"), matcher.group("claim"), matcher.group("claimBody"));
+   }
+
+   /**
+    * @return the unformatted text of the original message
+    */
+   public String plainText() {
+      return plainText;
+   }
+
+   public Kind kind() {
+      return kind;
+   }
+
+   public boolean is(Kind kind) {
+      return this.kind == kind;
+   }
+
+   /**
+    * @return "From" or "To" as written by the server for private messages, otherwise null
+    */
+   public String direction() {
+      return direction;
+   }
+
+   /**
+    * @return the other party of a private message or the author of a claim chat message, otherwise null
+    */
+   public String sender() {
+      return sender;
+   }
+
+   /**
+    * @return the claim name for claim chat messages, otherwise null
+    */
+   public String claim() {
+      return claim;
+   }
+
+   /**
+    * @return the message body after any prefix, or the whole text for system messages
+    */
+   public String body() {
+      return body;
+   }
+}
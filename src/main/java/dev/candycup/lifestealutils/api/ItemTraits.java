@@ -0,0 +1,137 @@
+package dev.candycup.lifestealutils.api;
+
+import com.google.common.collect.MapMaker;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * lifesteal-specific traits read from an item's {@code minecraft:custom_data}
+ * (custom enchants and artifact name under {@code PublicBukkitValues}).
+ * <p>
+ * parsing happens once per custom data instance. custom data is immutable and shared by
+ * every copy of a stack, so later lookups for the same item are a single map hit.
+ * the cache holds its keys weakly and compares them by identity.
+ */
+public final class ItemTraits {
+   public static final ItemTraits NONE = new ItemTraits(Set.of(), new CompoundTag(), false, null);
+
+   private static final String ENCHANT_PREFIX = "enchants:";
+   private static final String ARTIFACT_KEY = "lifesteal:artifact";
+   private static final ConcurrentMap<CustomData, ItemTraits> CACHE = new MapMaker().weakKeys().makeMap();
+
+   private final Set<String> enchantKeys;
+   private final CompoundTag enchants;
+   // the artifact key marks an item as rare whatever its value; only a named one has an artifact name
+   private final boolean artifactKey;
+   private final String artifactName;
+
+   private ItemTraits(Set<String> enchantKeys, CompoundTag enchants, boolean artifactKey, String artifactName) {
+      this.enchantKeys = enchantKeys;
+      this.enchants = enchants;
+      this.artifactKey = artifactKey;
+      this.artifactName = artifactName;
+   }
+
+   /**
+    * gets the traits for a stack, parsing its custom data on first sight.
+    *
+    * @param stack the stack to inspect, may be null
+    * @return the parsed traits, or {@link #NONE} when the stack has no lifesteal data
+    */
+   public static ItemTraits of(ItemStack stack) {
+      if (stack == null || stack.isEmpty()) {
+         return NONE;
+      }
+      CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
+      if (customData == null || customData.isEmpty()) {
+         return NONE;
+      }
+      ItemTraits cached = CACHE.get(customData);
+      if (cached != null) {
+         return cached;
+      }
+      ItemTraits parsed = parse(customData);
+      CACHE.put(customData, parsed);
+      return parsed;
+   }
+
+   private static ItemTraits parse(CustomData customData) {
+      Optional<CompoundTag> pbv = customData.copyTag().getCompound("PublicBukkitValues");
+      if (pbv.isEmpty()) {
+         return NONE;
+      }
+
+      Set<String> keys = new HashSet<>();
+      CompoundTag enchants = new CompoundTag();
+      for (String key : pbv.get().keySet()) {
+         if (key.startsWith(ENCHANT_PREFIX)) {
+            Tag value = pbv.get().get(key);
+            if (value != null) {
+               String interned = key.intern();
+               keys.add(interned);
+               enchants.put(interned, value);
+            }
+         }
+      }
+
+      Tag artifactTag = pbv.get().get(ARTIFACT_KEY);
+      String artifact = null;
+      if (artifactTag instanceof StringTag(String value) && value != null && !value.isBlank()) {
+         artifact = value;
+      }
+
+      if (keys.isEmpty() && artifactTag == null) {
+         return NONE;
+      }
+      return new ItemTraits(Set.copyOf(keys), enchants, artifactTag != null, artifact);
+   }
+
+   /**
+    * @return the custom enchant keys on this item (e.g. "enchants:heavenly")
+    */
+   public Set<String> enchantKeys() {
+      return enchantKeys;
+   }
+
+   /**
+    * @return a copy of the custom enchant tags, or null if the item has none
+    */
+   public CompoundTag copyEnchants() {
+      return enchants.isEmpty() ? null : enchants.copy();
+   }
+
+   public boolean hasCustomEnchants() {
+      return !enchantKeys.isEmpty();
+   }
+
+   public boolean hasCustomEnchant(String key) {
+      return key != null && enchantKeys.contains(key);
+   }
+
+   /**
+    * @return the artifact name, or null if the item is not an artifact
+    */
+   public String artifactName() {
+      return artifactName;
+   }
+
+   public boolean hasArtifact() {
+      return artifactName != null;
+   }
+
+   /**
+    * @return true if the custom data alone marks this item as rare (artifact or custom enchant)
+    */
+   public boolean isRareData() {
+      return artifactKey || !enchantKeys.isEmpty();
+   }
+}
@@ -0,0 +1,169 @@
+package dev.candycup.lifestealutils.api;
+
+import dev.candycup.lifestealutils.event.EventPriority;
+import dev.candycup.lifestealutils.event.events.ClientTickEvent;
+import dev.candycup.lifestealutils.event.events.LifestealShardSwapEvent;
+import dev.candycup.lifestealutils.event.events.ServerChangeEvent;
+import dev.candycup.lifestealutils.event.listener.ServerEventListener;
+import dev.candycup.lifestealutils.event.listener.TickEventListener;
+import net.minecraft.client.Minecraft;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * read-only API for where the player currently is: which kind of shard and which dimension.
+ * <p>
+ * the shard name is classified once when it changes (on {@link LifestealShardSwapEvent}, or
+ * when the tab footer is cleared) and the dimension once when the level changes. features read
+ * the resulting immutable {@link Snapshot} through {@link #current()} instead of matching
+ * strings every tick or frame.
+ */
+public final class LifestealContext implements TickEventListener, ServerEventListener {
+   private static final String SHARD_KEYWORD_HUB = "hub";
+   private static final String SHARD_KEYWORD_SPAWN = "spawn";
+   private static final String SHARD_KEYWORD_NETHER = "nether";
+   private static final String SHARD_KEYWORD_OVERWORLD = "overworld";
+   private static final String DIMENSION_KEYWORD_NETHER = "the_nether";
+   private static final String DIMENSION_KEYWORD_END = "the_end";
+
+   private static final LifestealContext INSTANCE = new LifestealContext();
+
+   private static volatile Snapshot snapshot = new Snapshot(null, Shard.OTHER, null, Dimension.OTHER);
+
+   private LifestealContext() {
+   }
+
+   public static LifestealContext getInstance() {
+      return INSTANCE;
+   }
+
+   /**
+    * @return the latest classification; never null
+    */
+   public static Snapshot current() {
+      return snapshot;
+   }
+
+   /**
+    * the kind of shard the player is on, from its name in the tab footer.
+    */
+   public enum Shard {
+      HUB,
+      SPAWN,
+      OVERWORLD,
+      NETHER,
+      /**
+       * any other shard, or no shard info at all
+       */
+      OTHER;
+
+      public static Shard classify(@Nullable String shardName) {
+         if (shardName == null || shardName.isBlank()) {
+            return OTHER;
+         }
+         String lower = shardName.toLowerCase(Locale.ROOT);
+         if (lower.contains(SHARD_KEYWORD_HUB)) return HUB;
+         if (lower.contains(SHARD_KEYWORD_SPAWN)) return SPAWN;
+         if (lower.contains(SHARD_KEYWORD_NETHER)) return NETHER;
+         if (lower.contains(SHARD_KEYWORD_OVERWORLD)) return OVERWORLD;
+         return OTHER;
+      }
+   }
+
+   /**
+    * a vanilla dimension, as seen from the client level or named by a POI definition.
+    */
+   public enum Dimension {
+      OVERWORLD,
+      NETHER,
+      END,
+      OTHER;
+
+      public static Dimension of(@Nullable ResourceKey<Level> level) {
+         if (level == null) return OTHER;
+         if (level == Level.OVERWORLD) return OVERWORLD;
+         if (level == Level.NETHER) return NETHER;
+         if (level == Level.END) return END;
+         return OTHER;
+      }
+
+      /**
+       * classifies a dimension name such as {@code minecraft:the_nether}.
+       *
+       * @return the dimension, or null if the name is blank
+       */
+      @Nullable
+      public static Dimension ofName(@Nullable String name) {
+         if (name == null || name.isBlank()) return null;
+         if (name.contains(DIMENSION_KEYWORD_NETHER)) return NETHER;
+         if (name.contains(DIMENSION_KEYWORD_END)) return END;
+         return OVERWORLD;
+      }
+   }
+
+   /**
+    * @param shardName    the raw shard name, or null without shard info
+    * @param dimensionKey the client level's dimension, or null outside a world
+    */
+   public record Snapshot(@Nullable String shardName, Shard shard,
+                          @Nullable ResourceKey<Level> dimensionKey, Dimension dimension) {
+      /**
+       * @return true on hub and spawn shards, where POI indicators are hidden
+       */
+      public boolean isPoiSuppressed() {
+         return shard == Shard.HUB || shard == Shard.SPAWN;
+      }
+
+      public boolean isNetherShard() {
+         return shard == Shard.NETHER;
+      }
+   }
+
+   @Override
+   public boolean isEnabled() {
+      return true;
+   }
+
+   @Override
+   public EventPriority getPriority() {
+      // classify before other listeners react to the same event
+      return EventPriority.HIGH;
+   }
+
+   @Override
+   public void onShardSwap(LifestealShardSwapEvent event) {
+      updateShard(event.getShardName());
+   }
+
+   @Override
+   public void onServerChange(ServerChangeEvent event) {
+      updateShard(LifestealTablistAPI.getCurrentShard());
+   }
+
+   @Override
+   public void onClientTick(ClientTickEvent event) {
+      Snapshot current = snapshot;
+      // the footer can be cleared without a swap event. every footer packet stores a new
+      // string, so compare by value to reclassify only when the name actually changes
+      String shardName = LifestealTablistAPI.getCurrentShard();
+      if (!Objects.equals(shardName, current.shardName())) {
+         updateShard(shardName);
+         current = snapshot;
+      }
+
+      Minecraft client = Minecraft.getInstance();
+      ResourceKey<Level> dimensionKey = client.level != null ? client.level.dimension() : null;
+      if (dimensionKey != current.dimensionKey()) {
+         snapshot = new Snapshot(current.shardName(), current.shard(), dimensionKey, Dimension.of(dimensionKey));
+      }
+   }
+
+   private static void updateShard(@Nullable String shardName) {
+      Snapshot current = snapshot;
+      snapshot = new Snapshot(shardName, Shard.classify(shardName), current.dimensionKey(), current.dimension());
+   }
+}
@@ -0,0 +1,158 @@
+package dev.candycup.lifestealutils.api;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * name/UUID index of the players in the current connection's tab list.
+ * <p>
+ * kept up to date from player-info add and remove packets rather than rescanning the
+ * connection, and published as an immutable snapshot so it can be read from any thread.
+ * the first lookup after joining a server seeds it from the connection's player list.
+ */
+public final class OnlinePlayerIndex {
+   private static final Snapshot EMPTY = new Snapshot(null, Map.of(), Map.of());
+
+   private static volatile Snapshot current = EMPTY;
+
+   private OnlinePlayerIndex() {
+   }
+
+   /**
+    * an online player as seen in the tab list.
+    */
+   public record OnlinePlayer(UUID uuid, String name) {
+   }
+
+   /**
+    * immutable index for one connection.
+    */
+   public record Snapshot(ClientPacketListener connection, Map<String, OnlinePlayer> byLowerName, Map<UUID, OnlinePlayer> byUuid) {
+      public OnlinePlayer byName(String name) {
+         return name == null ? null : byLowerName.get(name.toLowerCase(Locale.ROOT));
+      }
+
+      public OnlinePlayer byUuid(UUID uuid) {
+         return uuid == null ? null : byUuid.get(uuid);
+      }
+   }
+
+   /**
+    * @return the index for the current connection, or an empty one when not connected
+    */
+   public static Snapshot snapshot() {
+      Snapshot snapshot = current;
+      Minecraft minecraft = Minecraft.getInstance();
+      ClientPacketListener connection = minecraft.getConnection();
+      if (snapshot.connection() == connection) {
+         return snapshot;
+      }
+      // the connection's player map is only safe to walk on the client thread
+      if (!minecraft.isSameThread()) {
+         return EMPTY;
+      }
+      return seed(connection);
+   }
+
+   /**
+    * @return the UUID of an online player by case-insensitive name, or null if not online
+    */
+   public static UUID uuidForName(String name) {
+      OnlinePlayer player = snapshot().byName(name);
+      return player != null ? player.uuid() : null;
+   }
+
+   /**
+    * @return the name of an online player, or null if not online
+    */
+   public static String nameForUuid(UUID uuid) {
+      OnlinePlayer player = snapshot().byUuid(uuid);
+      return player != null ? player.name() : null;
+   }
+
+   /**
+    * applies a player-info update after vanilla has processed it.
+    */
+   public static void handleInfoUpdate(ClientPacketListener connection, ClientboundPlayerInfoUpdatePacket packet) {
+      if (!packet.actions().contains(ClientboundPlayerInfoUpdatePacket.Action.ADD_PLAYER)) {
+         return;
+      }
+      Snapshot base = current;
+      if (base.connection() != connection) {
+         // seeding reads the connection's full list, which already includes these players
+         seed(connection);
+         return;
+      }
+      Map<String, OnlinePlayer> byName = new HashMap<>(base.byLowerName());
+      Map<UUID, OnlinePlayer> byUuid = new HashMap<>(base.byUuid());
+      for (ClientboundPlayerInfoUpdatePacket.Entry entry : packet.entries()) {
+         put(byName, byUuid, connection.getPlayerInfo(entry.profileId()));
+      }
+      publish(connection, byName, byUuid);
+   }
+
+   /**
+    * applies a player-info removal after vanilla has processed it.
+    */
+   public static void handleInfoRemove(ClientPacketListener connection, ClientboundPlayerInfoRemovePacket packet) {
+      Snapshot base = current;
+      if (base.connection() != connection) {
+         seed(connection);
+         return;
+      }
+      Map<String, OnlinePlayer> byName = new HashMap<>(base.byLowerName());
+      Map<UUID, OnlinePlayer> byUuid = new HashMap<>(base.byUuid());
+      for (UUID profileId : packet.profileIds()) {
+         OnlinePlayer removed = byUuid.remove(profileId);
+         if (removed != null) {
+            byName.remove(removed.name().toLowerCase(Locale.ROOT), removed);
+         }
+      }
+      publish(connection, byName, byUuid);
+   }
+
+   private static Snapshot seed(ClientPacketListener connection) {
+      if (connection == null) {
+         current = EMPTY;
+         return EMPTY;
+      }
+      Map<String, OnlinePlayer> byName = new HashMap<>();
+      Map<UUID, OnlinePlayer> byUuid = new HashMap<>();
+      for (PlayerInfo info : connection.getOnlinePlayers()) {
+         put(byName, byUuid, info);
+      }
+      return publish(connection, byName, byUuid);
+   }
+
+   private static void put(Map<String, OnlinePlayer> byName, Map<UUID, OnlinePlayer> byUuid, PlayerInfo info) {
+      if (info == null || info.getProfile() == null) return;
+      //? if > 1.21.8 {
+      String name = info.getProfile().name();
+      UUID uuid = info.getProfile().id();
+      //?} else {
+      /*String name = info.getProfile().getName();
+      UUID uuid = info.getProfile().getId();
+       *///?}
+      if (name == null || name.isBlank() || uuid == null) return;
+      OnlinePlayer player = new OnlinePlayer(uuid, name);
+      OnlinePlayer previous = byUuid.put(uuid, player);
+      if (previous != null) {
+         byName.remove(previous.name().toLowerCase(Locale.ROOT), previous);
+      }
+      byName.put(name.toLowerCase(Locale.ROOT), player);
+   }
+
+   private static Snapshot publish(ClientPacketListener connection, Map<String, OnlinePlayer> byName, Map<UUID, OnlinePlayer> byUuid) {
+      Snapshot snapshot = new Snapshot(connection, Map.copyOf(byName), Map.copyOf(byUuid));
+      current = snapshot;
+      return snapshot;
+   }
+}
@@ -0,0 +1,137 @@
+package dev.candycup.lifestealutils.api;
+
+import com.google.common.collect.MapMaker;
+import dev.candycup.lifestealutils.Config;
+import dev.candycup.lifestealutils.event.EventBus;
+import dev.candycup.lifestealutils.event.events.PlayerNameRenderEvent;
+import dev.candycup.lifestealutils.features.alliances.AllianceRoster;
+import dev.candycup.lifestealutils.interapi.MessagingUtils;
+import net.kyori.adventure.platform.modcommon.MinecraftClientAudiences;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.network.chat.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * caches the decorated tab list name of each {@link PlayerInfo}.
+ * <p>
+ * decorating a name means a MiniMessage round trip for the rank-plus fix plus a
+ * name-render event for alliance colouring, so the result is kept per entry and reused
+ * while the vanilla name component and the decoration settings stay the same. entries are
+ * dropped when the server updates a player's info, and the settings are sampled once per
+ * tab render via {@link #beginFrame()}.
+ */
+public final class TabListDecorationCache {
+   private static final Map<PlayerInfo, Entry> ENTRIES = new MapMaker().weakKeys().makeMap();
+
+   private static DecorationState state = DecorationState.capture();
+
+   private TabListDecorationCache() {
+   }
+
+   /**
+    * samples config, server and alliance state. called once at the start of each tab list render;
+    * when anything changed every cached entry becomes stale.
+    */
+   public static void beginFrame() {
+      DecorationState next = DecorationState.capture();
+      if (!next.equals(state)) {
+         state = next;
+      }
+   }
+
+   /**
+    * @param playerInfo the tab entry being drawn
+    * @param vanillaName the name vanilla built for it
+    * @return the decorated name, reused from the previous call when nothing changed
+    */
+   public static Component decorate(PlayerInfo playerInfo, Component vanillaName) {
+      DecorationState current = state;
+      Entry entry = ENTRIES.get(playerInfo);
+      if (entry != null && entry.state == current && vanillaName.equals(entry.vanillaName)) {
+         // vanilla only measures and draws the returned name, so the cached instance is shared
+         return entry.decorated;
+      }
+
+      Component afterPlus = current.removeUniquePlus() ? moveUniquePlus(vanillaName) : vanillaName;
+      Component decorated = postNameRender(playerInfo, afterPlus);
+      if (decorated == afterPlus && current.alliancesEnabled() && AllianceRoster.contains(profileId(playerInfo))) {
+         // an ally the name resolver hasn't picked up yet; don't cache the plain name
+         return decorated;
+      }
+      ENTRIES.put(playerInfo, new Entry(vanillaName, decorated, current));
+      return decorated;
+   }
+
+   /**
+    * drops the cached entry of a player touched by a player info update.
+    */
+   public static void invalidate(PlayerInfo playerInfo) {
+      if (playerInfo != null) {
+         ENTRIES.remove(playerInfo);
+      }
+   }
+
+   private static Component moveUniquePlus(Component name) {
+      String serialized = MiniMessage.miniMessage().serialize(MinecraftClientAudiences.of().asAdventure(name));
+
+      boolean hadPlus = serialized.contains("+");
+      int index = serialized.indexOf("</");
+      if (hadPlus && index != -1) {
+         serialized = serialized.replace("+", "");
+         serialized = serialized.substring(0, index) + "+" + serialized.substring(index);
+      }
+
+      return MessagingUtils.miniMessage(serialized);
+   }
+
+   private static Component postNameRender(PlayerInfo playerInfo, Component name) {
+      //? if > 1.21.8 {
+      String plainName = playerInfo.getProfile().name();
+      //?} else {
+      /*String plainName = playerInfo.getProfile().getName();
+       *///?}
+      if (plainName == null || plainName.isBlank()) {
+         return name;
+      }
+      PlayerNameRenderEvent event = PlayerNameRenderEvent.obtain(plainName, name);
+      try {
+         EventBus.getInstance().post(event);
+         return event.getModifiedDisplayName();
+      } finally {
+         event.release();
+      }
+   }
+
+   private static UUID profileId(PlayerInfo playerInfo) {
+      //? if > 1.21.8 {
+      return playerInfo.getProfile().id();
+      //?} else {
+      /*return playerInfo.getProfile().getId();
+       *///?}
+   }
+
+   private record Entry(Component vanillaName, Component decorated, DecorationState state) {
+   }
+
+   /**
+    * everything outside the name component itself that affects decoration.
+    */
+   private record DecorationState(
+           boolean removeUniquePlus,
+           boolean alliancesEnabled,
+           int allianceColor,
+           long rosterVersion
+   ) {
+      private static DecorationState capture() {
+         return new DecorationState(
+                 Config.getRemoveUniquePlusColor() && LifestealServerDetector.isOnLifestealServer(),
+                 Config.getEnableAlliances(),
+                 Config.getAllianceNameColor(),
+                 AllianceRoster.snapshot().version()
+         );
+      }
+   }
+}
@@ -1,23 +1,49 @@
 package dev.candycup.lifestealutils.event;
 
 import dev.candycup.lifestealutils.event.events.*;
-import dev.candycup.lifestealutils.event.listener.LifestealEventListener;
+import dev.candycup.lifestealutils.event.listener.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * central event bus for dispatching events to registered listeners.
  * listeners are organized by event type and sorted by priority.
+ * <p>
+ * dispatch tables are compiled on register/unregister: every event type maps to
+ * an immutable handler array with each typed {@code onXxx} method already bound,
+ * so posting is a plain array walk with no type lookups.
  */
 public class EventBus {
    private static final Logger LOGGER = LoggerFactory.getLogger("LifestealUtils/EventBus");
    private static final EventBus INSTANCE = new EventBus();
+   private static final Handler[] NO_HANDLERS = new Handler[0];
 
-   private final Map<Class<? extends LSUEvent>, CopyOnWriteArrayList<LifestealEventListener>> listeners = new ConcurrentHashMap<>();
+   /**
+    * every listener method the bus knows how to call, keyed by the interface that declares it.
+    * new events only need a line here.
+    */
+   private static final List<Binding<?, ?>> BINDINGS = List.of(
+           new Binding<>(CombatEventListener.class, ClientAttackEvent.class, CombatEventListener::onClientAttack),
+           new Binding<>(CombatEventListener.class, DamageConfirmedEvent.class, CombatEventListener::onDamageConfirmed),
+           new Binding<>(CombatEventListener.class, PlayerDamagedEvent.class, CombatEventListener::onPlayerDamaged),
+           new Binding<>(ChatEventListener.class, ChatMessageReceivedEvent.class, ChatEventListener::onChatMessageReceived),
+           new Binding<>(ChatEventListener.class, ChatMessageSentEvent.class, ChatEventListener::onChatMessageSent),
+           new Binding<>(TickEventListener.class, ClientTickEvent.class, TickEventListener::onClientTick),
+           new Binding<>(ServerEventListener.class, ServerChangeEvent.class, ServerEventListener::onServerChange),
+           new Binding<>(ServerEventListener.class, LifestealShardSwapEvent.class, ServerEventListener::onShardSwap),
+           new Binding<>(RenderEventListener.class, ItemRenderEvent.class, RenderEventListener::onItemRender),
+           new Binding<>(RenderEventListener.class, PlayerNameRenderEvent.class, RenderEventListener::onPlayerNameRender),
+           new Binding<>(UIEventListener.class, TitleScreenInitEvent.class, UIEventListener::onTitleScreenInit),
+           new Binding<>(UIEventListener.class, SplashTextRequestEvent.class, UIEventListener::onSplashTextRequest),
+           new Binding<>(CommandEventListener.class, CommandSentEvent.class, CommandEventListener::onCommandSent)
+   );
+
+   private final List<LifestealEventListener> registered = new ArrayList<>();
+   private volatile Map<Class<? extends LSUEvent>, Handler[]> dispatchTable = Map.of();
 
    private EventBus() {
    }
@@ -32,20 +58,12 @@ public class EventBus {
     *
     * @param listener the listener to register
     */
-   public void register(LifestealEventListener listener) {
-      // discover which event types this listener handles
-      List<Class<? extends LSUEvent>> eventTypes = discoverEventTypes(listener);
-
-      for (Class<? extends LSUEvent> eventType : eventTypes) {
-         listeners.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(listener);
-         // sort by priority (high to low)
-         listeners.get(eventType).sort((a, b) ->
-                 Integer.compare(b.getPriority().getValue(), a.getPriority().getValue())
-         );
-      }
+   public synchronized void register(LifestealEventListener listener) {
+      registered.add(listener);
+      rebuildDispatchTable();
 
       LOGGER.debug("Registered listener: {} for {} event types",
-              listener.getClass().getSimpleName(), eventTypes.size());
+              listener.getClass().getSimpleName(), countBindings(listener));
    }
 
    /**
@@ -53,8 +71,9 @@ public class EventBus {
     *
     * @param listener the listener to unregister
     */
-   public void unregister(LifestealEventListener listener) {
-      listeners.values().forEach(list -> list.remove(listener));
+   public synchronized void unregister(LifestealEventListener listener) {
+      registered.removeIf(existing -> existing == listener);
+      rebuildDispatchTable();
       LOGGER.debug("Unregistered listener: {}", listener.getClass().getSimpleName());
    }
 
@@ -67,91 +86,92 @@ public class EventBus {
     * @param <T>   the event type
     */
    public <T extends LSUEvent> void post(T event) {
-      List<LifestealEventListener> eventListeners = listeners.get(event.getClass());
-      if (eventListeners == null || eventListeners.isEmpty()) {
+      Handler[] handlers = dispatchTable.get(event.getClass());
+      if (handlers == null) {
          return;
       }
 
-      for (LifestealEventListener listener : eventListeners) {
-         if (!listener.isEnabled()) {
+      for (Handler handler : handlers) {
+         if (!handler.listener().isEnabled()) {
             continue;
          }
 
          try {
-            listener.handleEvent(event);
+            handler.invoker().accept(event);
          } catch (Exception e) {
             LOGGER.error("Error handling event {} in listener {}",
                     event.getClass().getSimpleName(),
-                    listener.getClass().getSimpleName(),
+                    handler.listener().getClass().getSimpleName(),
                     e);
          }
       }
    }
 
    /**
-    * discover which event types a listener can handle based on implemented interfaces.
-    * walks the class hierarchy to find interfaces implemented by superclasses.
-    *
-    * @param listener the listener to check
-    * @return list of event types the listener handles
+    * clear all registered listeners. useful for testing.
     */
-   private List<Class<? extends LSUEvent>> discoverEventTypes(LifestealEventListener listener) {
-      List<Class<? extends LSUEvent>> eventTypes = new ArrayList<>();
-
-      // check all implemented interfaces (including superclasses)
-      for (Class<?> type = listener.getClass(); type != null; type = type.getSuperclass()) {
-         for (Class<?> iface : type.getInterfaces()) {
-            if (iface.getPackage() != null &&
-                    iface.getPackage().getName().equals("dev.candycup.lifestealutils.event.listener")) {
-               eventTypes.addAll(getEventTypesForInterface(iface));
+   public synchronized void clearAllListeners() {
+      registered.clear();
+      dispatchTable = Map.of();
+      LOGGER.debug("Cleared all listeners");
+   }
+
+   /**
+    * recompiles the per-event handler arrays from the registered listeners and publishes
+    * them in one volatile write so concurrent posts always see a complete table.
+    */
+   private void rebuildDispatchTable() {
+      Map<Class<? extends LSUEvent>, List<Handler>> grouped = new HashMap<>();
+      for (LifestealEventListener listener : registered) {
+         for (Binding<?, ?> binding : BINDINGS) {
+            if (binding.listenerType().isInstance(listener)) {
+               grouped.computeIfAbsent(binding.eventType(), k -> new ArrayList<>()).add(binding.bind(listener));
             }
          }
       }
 
-      return eventTypes;
+      Map<Class<? extends LSUEvent>, Handler[]> table = new HashMap<>();
+      for (Map.Entry<Class<? extends LSUEvent>, List<Handler>> entry : grouped.entrySet()) {
+         List<Handler> handlers = entry.getValue();
+         // sort by priority (high to low), stable so registration order breaks ties
+         handlers.sort((a, b) -> Integer.compare(b.priority(), a.priority()));
+         table.put(entry.getKey(), handlers.toArray(NO_HANDLERS));
+      }
+      dispatchTable = Map.copyOf(table);
    }
 
-   /**
-    * map listener interface to event types it handles.
-    *
-    * @param listenerInterface the listener interface
-    * @return list of event types
-    */
-   private List<Class<? extends LSUEvent>> getEventTypesForInterface(Class<?> listenerInterface) {
-      List<Class<? extends LSUEvent>> eventTypes = new ArrayList<>();
-      String interfaceName = listenerInterface.getSimpleName();
-
-      // map based on interface name
-      if (interfaceName.equals("CombatEventListener")) {
-         eventTypes.add(ClientAttackEvent.class);
-         eventTypes.add(DamageConfirmedEvent.class);
-         eventTypes.add(PlayerDamagedEvent.class);
-      } else if (interfaceName.equals("ChatEventListener")) {
-         eventTypes.add(ChatMessageReceivedEvent.class);
-         eventTypes.add(ChatMessageSentEvent.class);
-      } else if (interfaceName.equals("TickEventListener")) {
-         eventTypes.add(ClientTickEvent.class);
-      } else if (interfaceName.equals("ServerEventListener")) {
-         eventTypes.add(ServerChangeEvent.class);
-         eventTypes.add(LifestealShardSwapEvent.class);
-      } else if (interfaceName.equals("RenderEventListener")) {
-         eventTypes.add(ItemRenderEvent.class);
-         eventTypes.add(PlayerNameRenderEvent.class);
-      } else if (interfaceName.equals("UIEventListener")) {
-         eventTypes.add(TitleScreenInitEvent.class);
-         eventTypes.add(SplashTextRequestEvent.class);
-      } else if (interfaceName.equals("CommandEventListener")) {
-         eventTypes.add(CommandSentEvent.class);
+   private static int countBindings(LifestealEventListener listener) {
+      int count = 0;
+      for (Binding<?, ?> binding : BINDINGS) {
+         if (binding.listenerType().isInstance(listener)) {
+            count++;
+         }
       }
+      return count;
+   }
 
-      return eventTypes;
+   /**
+    * a listener method bound to one listener instance.
+    */
+   private record Handler(LifestealEventListener listener, int priority, Consumer<LSUEvent> invoker) {
    }
 
    /**
-    * clear all registered listeners. useful for testing.
+    * ties a listener interface method to the event type it receives.
     */
-   public void clearAllListeners() {
-      listeners.clear();
-      LOGGER.debug("Cleared all listeners");
+   private record Binding<L extends LifestealEventListener, E extends LSUEvent>(
+           Class<L> listenerType,
+           Class<E> eventType,
+           BiConsumer<L, E> method
+   ) {
+      @SuppressWarnings("unchecked")
+      Handler bind(LifestealEventListener listener) {
+         L typed = listenerType.cast(listener);
+         return new Handler(
+                 listener,
+                 listener.getPriority().getValue(),
+                 event -> method.accept(typed, (E) event)
+         );
+      }
    }
 }
@@ -27,6 +27,13 @@ public abstract class LSUEvent {
       this.cancelled = cancelled;
    }
 
+   /**
+    * clears the cancelled flag so a pooled instance can be posted again.
+    */
+   void resetCancelled() {
+      this.cancelled = false;
+   }
+
    /**
     * @return true if this event can be cancelled
     */
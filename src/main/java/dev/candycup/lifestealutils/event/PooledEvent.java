@@ -0,0 +1,65 @@
+package dev.candycup.lifestealutils.event;
+
+import net.minecraft.client.Minecraft;
+
+/**
+ * base class for events posted at render or tick frequency.
+ * <p>
+ * each subclass keeps one shared instance that is refilled and re-posted instead of
+ * allocating a new event per call. the poster acquires the event, posts it, reads the
+ * result and then calls {@link #release()}. getters throw once the event is released,
+ * so a listener that stores the event and reads it later fails loudly rather than
+ * seeing another frame's data.
+ * <p>
+ * the shared instance is only handed out on the client thread and only when it is not
+ * already in flight (nested posts, e.g. a listener triggering another name render).
+ * anything else gets a fresh instance, so callers never need to care which one they got.
+ */
+public abstract class PooledEvent extends LSUEvent {
+   private boolean acquired = false;
+
+   /**
+    * marks this event as in use.
+    *
+    * @return true if the event was free and is now owned by the caller
+    */
+   protected final boolean tryAcquire() {
+      if (acquired) {
+         return false;
+      }
+      acquired = true;
+      resetCancelled();
+      return true;
+   }
+
+   /**
+    * returns this event to its pool. must be called by the poster once it has read the result.
+    */
+   public final void release() {
+      acquired = false;
+      clear();
+   }
+
+   /**
+    * guards accessors against use after {@link #release()}.
+    */
+   protected final void ensureAcquired() {
+      if (!acquired) {
+         throw new IllegalStateException(getClass().getSimpleName()
+                 + " is pooled and must not be kept past the listener call");
+      }
+   }
+
+   /**
+    * drops references held by this event so a released instance doesn't pin them.
+    */
+   protected abstract void clear();
+
+   /**
+    * @return true if the shared instance may be used from the current thread
+    */
+   protected static boolean canUseShared() {
+      Minecraft client = Minecraft.getInstance();
+      return client != null && client.isSameThread();
+   }
+}
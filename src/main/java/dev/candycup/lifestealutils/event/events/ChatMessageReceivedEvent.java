@@ -1,15 +1,28 @@
 package dev.candycup.lifestealutils.event.events;
 
+import dev.candycup.lifestealutils.api.ChatMessageAnalysis;
 import dev.candycup.lifestealutils.event.LSUEvent;
+import dev.candycup.lifestealutils.interapi.MessagingUtils;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.minecraft.network.chat.Component;
 
 /**
  * fired when a chat message is received from the server.
  * can be cancelled to prevent the message from being displayed.
+ * <p>
+ * derived forms are computed lazily and shared by every listener: {@link #getAnalysis()}
+ * classifies the original message once, and {@link #getModifiedMiniMessage()} keeps the
+ * MiniMessage serialization of the current modified message, so listeners that rewrite
+ * MiniMessage can chain without serializing and parsing the component each time.
  */
 public class ChatMessageReceivedEvent extends LSUEvent {
+   private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
    private final Component message;
+   private ChatMessageAnalysis analysis;
+   // at least one of these is always set; the other is derived from it on demand
    private Component modifiedMessage;
+   private String modifiedMiniMessage;
 
    public ChatMessageReceivedEvent(Component message) {
       this.message = message;
@@ -20,7 +33,20 @@ public class ChatMessageReceivedEvent extends LSUEvent {
       return message;
    }
 
+   /**
+    * @return the cached analysis of the original message (plain text and message kind)
+    */
+   public ChatMessageAnalysis getAnalysis() {
+      if (analysis == null) {
+         analysis = ChatMessageAnalysis.of(message);
+      }
+      return analysis;
+   }
+
    public Component getModifiedMessage() {
+      if (modifiedMessage == null) {
+         modifiedMessage = MessagingUtils.miniMessage(modifiedMiniMessage);
+      }
       return modifiedMessage;
    }
 
@@ -31,6 +57,31 @@ public class ChatMessageReceivedEvent extends LSUEvent {
     */
    public void setModifiedMessage(Component modifiedMessage) {
       this.modifiedMessage = modifiedMessage != null ? modifiedMessage : message;
+      this.modifiedMiniMessage = null;
+   }
+
+   /**
+    * @return the current modified message serialized to MiniMessage
+    */
+   public String getModifiedMiniMessage() {
+      if (modifiedMiniMessage == null) {
+         modifiedMiniMessage = MINI_MESSAGE.serialize(MessagingUtils.asMiniMessage(getModifiedMessage()));
+      }
+      return modifiedMiniMessage;
+   }
+
+   /**
+    * modify the chat message using MiniMessage. the component is only parsed once it is needed.
+    *
+    * @param modifiedMiniMessage the new message to display, as MiniMessage
+    */
+   public void setModifiedMiniMessage(String modifiedMiniMessage) {
+      if (modifiedMiniMessage == null) {
+         setModifiedMessage(null);
+         return;
+      }
+      this.modifiedMiniMessage = modifiedMiniMessage;
+      this.modifiedMessage = null;
    }
 
    @Override
@@ -1,20 +1,48 @@
 package dev.candycup.lifestealutils.event.events;
 
-import dev.candycup.lifestealutils.event.LSUEvent;
+import dev.candycup.lifestealutils.event.PooledEvent;
 import net.minecraft.client.Minecraft;
 
 /**
  * fired every client tick (20 times per second).
  * used for periodic updates and state management.
+ * <p>
+ * the event is pooled: obtain it with {@link #obtain}, release it after posting,
+ * and never keep a reference from a listener.
  */
-public class ClientTickEvent extends LSUEvent {
-   private final Minecraft client;
+public class ClientTickEvent extends PooledEvent {
+   private static final ClientTickEvent SHARED = new ClientTickEvent();
 
-   public ClientTickEvent(Minecraft client) {
-      this.client = client;
+   private Minecraft client;
+
+   private ClientTickEvent() {
+   }
+
+   /**
+    * fills and returns the shared instance, or a fresh one if it is unavailable.
+    *
+    * @param client the minecraft client
+    * @return an acquired event; call {@link #release()} when done
+    */
+   public static ClientTickEvent obtain(Minecraft client) {
+      ClientTickEvent event = canUseShared() && SHARED.tryAcquire() ? SHARED : fresh();
+      event.client = client;
+      return event;
+   }
+
+   private static ClientTickEvent fresh() {
+      ClientTickEvent event = new ClientTickEvent();
+      event.tryAcquire();
+      return event;
+   }
+
+   @Override
+   protected void clear() {
+      client = null;
    }
 
    public Minecraft getClient() {
+      ensureAcquired();
       return client;
    }
 
@@ -1,7 +1,7 @@
 package dev.candycup.lifestealutils.event.events;
 
 import com.mojang.blaze3d.vertex.PoseStack;
-import dev.candycup.lifestealutils.event.LSUEvent;
+import dev.candycup.lifestealutils.event.PooledEvent;
 import net.minecraft.world.item.ItemStack;
 
 /**
@@ -9,19 +9,49 @@ import net.minecraft.world.item.ItemStack;
  * <p>
  * performance note: this event fires extremely frequently (60-144+ times per second per item).
  * listeners should be highly optimized and avoid allocations in this hot path.
+ * the event is pooled: obtain it with {@link #obtain}, release it after reading the result,
+ * and never keep a reference from a listener.
  * <p>
  * can be cancelled to prevent rendering.
  * features can modify the poseStack to apply transforms (e.g., scaling).
  */
-public class ItemRenderEvent extends LSUEvent {
-   private final ItemStack itemStack;
-   private final PoseStack poseStack;
-   private final boolean isRare;
+public class ItemRenderEvent extends PooledEvent {
+   private static final ItemRenderEvent SHARED = new ItemRenderEvent();
 
-   public ItemRenderEvent(ItemStack itemStack, PoseStack poseStack, boolean isRare) {
-      this.itemStack = itemStack;
-      this.poseStack = poseStack;
-      this.isRare = isRare;
+   private ItemStack itemStack;
+   private PoseStack poseStack;
+   private boolean isRare;
+
+   private ItemRenderEvent() {
+   }
+
+   /**
+    * fills and returns the shared instance, or a fresh one if it is unavailable.
+    *
+    * @param itemStack the item being rendered
+    * @param poseStack the pose stack for the render
+    * @param isRare    whether the item was classified as rare
+    * @return an acquired event; call {@link #release()} when done
+    */
+   public static ItemRenderEvent obtain(ItemStack itemStack, PoseStack poseStack, boolean isRare) {
+      ItemRenderEvent event = canUseShared() && SHARED.tryAcquire() ? SHARED : fresh();
+      event.itemStack = itemStack;
+      event.poseStack = poseStack;
+      event.isRare = isRare;
+      return event;
+   }
+
+   private static ItemRenderEvent fresh() {
+      ItemRenderEvent event = new ItemRenderEvent();
+      event.tryAcquire();
+      return event;
+   }
+
+   @Override
+   protected void clear() {
+      itemStack = null;
+      poseStack = null;
+      isRare = false;
    }
 
    @Override
@@ -30,14 +60,17 @@ public class ItemRenderEvent extends LSUEvent {
    }
 
    public ItemStack getItemStack() {
+      ensureAcquired();
       return itemStack;
    }
 
    public PoseStack getPoseStack() {
+      ensureAcquired();
       return poseStack;
    }
 
    public boolean isRare() {
+      ensureAcquired();
       return isRare;
    }
 }
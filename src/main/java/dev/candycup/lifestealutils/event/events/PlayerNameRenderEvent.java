@@ -1,6 +1,6 @@
 package dev.candycup.lifestealutils.event.events;
 
-import dev.candycup.lifestealutils.event.LSUEvent;
+import dev.candycup.lifestealutils.event.PooledEvent;
 import net.minecraft.network.chat.Component;
 
 /**
@@ -8,24 +8,54 @@ import net.minecraft.network.chat.Component;
  * <p>
  * performance note: this event fires frequently during rendering.
  * listeners should cache results where possible and avoid expensive operations.
+ * the event is pooled: obtain it with {@link #obtain}, release it after reading the result,
+ * and never keep a reference from a listener.
  * <p>
  * features can modify the display name by setting a new value.
  */
-public class PlayerNameRenderEvent extends LSUEvent {
-   private final String playerName;
-   private final Component originalDisplayName;
+public class PlayerNameRenderEvent extends PooledEvent {
+   private static final PlayerNameRenderEvent SHARED = new PlayerNameRenderEvent();
+
+   private String playerName;
+   private Component originalDisplayName;
    private Component modifiedDisplayName;
 
-   public PlayerNameRenderEvent(String playerName, Component originalDisplayName) {
-      this.playerName = playerName;
-      this.originalDisplayName = originalDisplayName;
-      this.modifiedDisplayName = originalDisplayName;
+   private PlayerNameRenderEvent() {
+   }
+
+   /**
+    * fills and returns the shared instance, or a fresh one if it is unavailable.
+    *
+    * @param playerName          the plain username of the player
+    * @param originalDisplayName the display name before any listener ran
+    * @return an acquired event; call {@link #release()} when done
+    */
+   public static PlayerNameRenderEvent obtain(String playerName, Component originalDisplayName) {
+      PlayerNameRenderEvent event = canUseShared() && SHARED.tryAcquire() ? SHARED : fresh();
+      event.playerName = playerName;
+      event.originalDisplayName = originalDisplayName;
+      event.modifiedDisplayName = originalDisplayName;
+      return event;
+   }
+
+   private static PlayerNameRenderEvent fresh() {
+      PlayerNameRenderEvent event = new PlayerNameRenderEvent();
+      event.tryAcquire();
+      return event;
+   }
+
+   @Override
+   protected void clear() {
+      playerName = null;
+      originalDisplayName = null;
+      modifiedDisplayName = null;
    }
 
    /**
     * @return the plain username of the player
     */
    public String getPlayerName() {
+      ensureAcquired();
       return playerName;
    }
 
@@ -33,6 +63,7 @@ public class PlayerNameRenderEvent extends LSUEvent {
     * @return the original unmodified display name
     */
    public Component getOriginalDisplayName() {
+      ensureAcquired();
       return originalDisplayName;
    }
 
@@ -40,6 +71,7 @@ public class PlayerNameRenderEvent extends LSUEvent {
     * @return the current display name (may be modified by previous listeners)
     */
    public Component getModifiedDisplayName() {
+      ensureAcquired();
       return modifiedDisplayName;
    }
 
@@ -49,6 +81,7 @@ public class PlayerNameRenderEvent extends LSUEvent {
     * @param displayName the new display name
     */
    public void setModifiedDisplayName(Component displayName) {
+      ensureAcquired();
       this.modifiedDisplayName = displayName != null ? displayName : originalDisplayName;
    }
 }
@@ -0,0 +1,113 @@
+package dev.candycup.lifestealutils.features.alliances;
+
+import dev.candycup.lifestealutils.Config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * in-memory alliance membership, published as an immutable snapshot.
+ * <p>
+ * the config keeps the persisted {@code List<String>}; this class mirrors it as a
+ * {@code Set<UUID>} so render-time membership checks are a hash lookup with no allocation.
+ * every edit writes the config and republishes a new snapshot with a bumped version,
+ * which downstream caches use to detect alliance changes.
+ */
+public final class AllianceRoster {
+   private static volatile Snapshot current;
+
+   private AllianceRoster() {
+   }
+
+   /**
+    * immutable view of the alliance at one point in time.
+    *
+    * @param members allied player UUIDs
+    * @param version increments on every published change
+    */
+   public record Snapshot(Set<UUID> members, long version) {
+      public boolean contains(UUID uuid) {
+         return uuid != null && members.contains(uuid);
+      }
+
+      public boolean isEmpty() {
+         return members.isEmpty();
+      }
+   }
+
+   /**
+    * @return the current snapshot, built from the config on first use
+    */
+   public static Snapshot snapshot() {
+      Snapshot snapshot = current;
+      if (snapshot == null) {
+         snapshot = initialize();
+      }
+      return snapshot;
+   }
+
+   public static boolean contains(UUID uuid) {
+      return snapshot().contains(uuid);
+   }
+
+   /**
+    * @return true if the UUID was not already allied
+    */
+   public static synchronized boolean add(UUID uuid) {
+      Snapshot snapshot = snapshot();
+      if (uuid == null || snapshot.contains(uuid)) return false;
+      Set<UUID> next = new HashSet<>(snapshot.members());
+      next.add(uuid);
+      publish(next);
+      return true;
+   }
+
+   /**
+    * @return true if the UUID was allied and has been removed
+    */
+   public static synchronized boolean remove(UUID uuid) {
+      Snapshot snapshot = snapshot();
+      if (uuid == null || !snapshot.contains(uuid)) return false;
+      Set<UUID> next = new HashSet<>(snapshot.members());
+      next.remove(uuid);
+      publish(next);
+      return true;
+   }
+
+   /**
+    * @return true if the UUID is now allied, false if it was removed
+    */
+   public static synchronized boolean toggle(UUID uuid) {
+      if (remove(uuid)) return false;
+      return add(uuid);
+   }
+
+   public static synchronized void clear() {
+      publish(new HashSet<>());
+   }
+
+   private static synchronized Snapshot initialize() {
+      if (current != null) return current;
+      Set<UUID> members = new HashSet<>();
+      for (String id : Config.getAllianceUuids()) {
+         try {
+            members.add(UUID.fromString(id));
+         } catch (IllegalArgumentException ignored) {
+         }
+      }
+      current = new Snapshot(Set.copyOf(members), 0);
+      return current;
+   }
+
+   private static void publish(Set<UUID> members) {
+      List<String> persisted = new ArrayList<>(members.size());
+      for (UUID member : members) {
+         persisted.add(member.toString());
+      }
+      Config.setAllianceUuids(persisted);
+      current = new Snapshot(Set.copyOf(members), snapshot().version() + 1);
+   }
+}
@@ -1,6 +1,7 @@
 package dev.candycup.lifestealutils.features.alliances;
 
 import dev.candycup.lifestealutils.Config;
+import dev.candycup.lifestealutils.api.OnlinePlayerIndex;
 import dev.candycup.lifestealutils.event.EventPriority;
 import dev.candycup.lifestealutils.event.events.PlayerNameRenderEvent;
 import dev.candycup.lifestealutils.event.listener.RenderEventListener;
@@ -8,15 +9,12 @@ import dev.candycup.lifestealutils.interapi.MessagingUtils;
 import net.kyori.adventure.platform.modcommon.MinecraftClientAudiences;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.multiplayer.ClientPacketListener;
-import net.minecraft.client.multiplayer.PlayerInfo;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.client.resources.sounds.SimpleSoundInstance;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.world.entity.player.Player;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -96,15 +94,8 @@ public final class Alliances implements RenderEventListener {
       if (player == null) return null;
       UUID uuid = player.getUUID();
       if (uuid == null) return null;
-      List<String> list = new ArrayList<>(Config.getAllianceUuids());
-      String id = uuid.toString();
-      boolean added;
-      if (list.contains(id)) {
-         list.remove(id);
-         added = false;
-      } else {
-         list.add(id);
-         added = true;
+      boolean added = AllianceRoster.toggle(uuid);
+      if (added) {
          // cache the username from the player
          Component nameComponent = player.getName();
          if (nameComponent != null) {
@@ -114,7 +105,6 @@ public final class Alliances implements RenderEventListener {
             }
          }
       }
-      Config.setAllianceUuids(list);
       playAllianceSound();
       return added;
    }
@@ -148,10 +138,8 @@ public final class Alliances implements RenderEventListener {
    public static boolean removeAlliance(String usernameOrUuid) {
       UUID uuid = UuidResolver.resolveUuid(usernameOrUuid);
       if (uuid == null) return false;
-      List<String> list = new ArrayList<>(Config.getAllianceUuids());
-      boolean removed = list.remove(uuid.toString());
+      boolean removed = AllianceRoster.remove(uuid);
       if (removed) {
-         Config.setAllianceUuids(list);
          playAllianceSound();
       }
       return removed;
@@ -169,10 +157,8 @@ public final class Alliances implements RenderEventListener {
             callback.accept(false);
             return;
          }
-         List<String> list = new ArrayList<>(Config.getAllianceUuids());
-         boolean removed = list.remove(uuid.toString());
+         boolean removed = AllianceRoster.remove(uuid);
          if (removed) {
-            Config.setAllianceUuids(list);
             playAllianceSound();
          }
          callback.accept(removed);
@@ -180,14 +166,14 @@ public final class Alliances implements RenderEventListener {
    }
 
    public static void clearAlliances() {
-      Config.setAllianceUuids(new ArrayList<>());
+      AllianceRoster.clear();
    }
 
    public static boolean isAlliedName(String username) {
       if (username == null || username.isBlank()) return false;
-      UUID uuid = UuidResolver.resolveOnlineUuidCached(username);
-      if (uuid == null) return false;
-      return Config.getAllianceUuids().contains(uuid.toString());
+      AllianceRoster.Snapshot roster = AllianceRoster.snapshot();
+      if (roster.isEmpty()) return false;
+      return roster.contains(UuidResolver.resolveOnlineUuidCached(username));
    }
 
    private static Component colorizeNameTag(Component original) {
@@ -261,13 +247,7 @@ public final class Alliances implements RenderEventListener {
    }
 
    private static boolean addAllianceUuid(UUID uuid) {
-      if (uuid == null) return false;
-      List<String> list = new ArrayList<>(Config.getAllianceUuids());
-      String id = uuid.toString();
-      if (list.contains(id)) return false;
-      list.add(id);
-      Config.setAllianceUuids(list);
-      return true;
+      return AllianceRoster.add(uuid);
    }
 
    private static void playAllianceSound() {
@@ -296,24 +276,16 @@ public final class Alliances implements RenderEventListener {
 
    private static List<String> getAllianceDisplayNames() {
       List<String> entries = new ArrayList<>();
-      ClientPacketListener connection = Minecraft.getInstance().getConnection();
-      for (String id : Config.getAllianceUuids()) {
-         String name = null;
-         if (connection != null) {
-            for (PlayerInfo info : connection.getOnlinePlayers()) {
-               if (info == null || info.getProfile() == null) continue;
-               UUID uuid = getProfileId(info);
-               if (uuid != null && id.equals(uuid.toString())) {
-                  name = getProfileName(info);
-                  if (name != null) {
-                     UuidResolver.updateCache(uuid, name);
-                  }
-                  break;
-               }
-            }
-         }
-         if (name == null) {
-            name = UuidResolver.getCachedUsername(id);
+      OnlinePlayerIndex.Snapshot online = OnlinePlayerIndex.snapshot();
+      for (UUID member : AllianceRoster.snapshot().members()) {
+         String id = member.toString();
+         OnlinePlayerIndex.OnlinePlayer player = online.byUuid(member);
+         String name;
+         if (player != null) {
+            name = player.name();
+            UuidResolver.updateCache(member, name);
+         } else {
+            name = UuidResolver.getCachedUsername(member);
          }
          entries.add(name != null ? name : id);
       }
@@ -343,40 +315,4 @@ public final class Alliances implements RenderEventListener {
          return new VisibleMapping(visible.toString(), mapping);
       }
    }
-
-   private static String getProfileName(PlayerInfo info) {
-      Object profile = info.getProfile();
-      if (profile == null) return null;
-      try {
-         Method method = profile.getClass().getMethod("getName");
-         Object value = method.invoke(profile);
-         return value != null ? value.toString() : null;
-      } catch (Exception ignored) {
-      }
-      try {
-         Method method = profile.getClass().getMethod("name");
-         Object value = method.invoke(profile);
-         return value != null ? value.toString() : null;
-      } catch (Exception ignored) {
-      }
-      return null;
-   }
-
-   private static UUID getProfileId(PlayerInfo info) {
-      Object profile = info.getProfile();
-      if (profile == null) return null;
-      try {
-         Method method = profile.getClass().getMethod("getId");
-         Object value = method.invoke(profile);
-         return value instanceof UUID ? (UUID) value : null;
-      } catch (Exception ignored) {
-      }
-      try {
-         Method method = profile.getClass().getMethod("id");
-         Object value = method.invoke(profile);
-         return value instanceof UUID ? (UUID) value : null;
-      } catch (Exception ignored) {
-      }
-      return null;
-   }
 }
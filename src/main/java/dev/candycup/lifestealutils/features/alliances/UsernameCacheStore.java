@@ -0,0 +1,300 @@
+package dev.candycup.lifestealutils.features.alliances;
+
+import dev.candycup.lifestealutils.Config;
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * persistent two-way UUID/username cache.
+ * <p>
+ * entries are indexed both by UUID and by lowercase username, capped with LRU eviction,
+ * and persisted to their own binary log file. new or changed mappings are appended as a
+ * single record; the log is rewritten from the live entries once it grows well past them.
+ * lookups and updates only touch memory under the class lock; appends and rewrites are
+ * queued to a background writer.
+ */
+final class UsernameCacheStore {
+   private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/uuid-cache");
+   private static final String FILE_NAME = "lifestealutils-uuid-cache.bin";
+   private static final int MAGIC = 0x4C535555; // "LSUU"
+   private static final int FORMAT_VERSION = 1;
+   private static final int MAX_ENTRIES = 4096;
+   // compact once the log holds this many stale records beyond the live ones
+   private static final int COMPACTION_SLACK = 1024;
+   private static final long FLUSH_TIMEOUT_MS = 2000;
+
+   private static final ExecutorService WRITER = createWriter();
+
+   // guarded by the class lock
+   private static final Map<UUID, Entry> BY_UUID = new LinkedHashMap<>(256, 0.75F, true);
+   private static final Map<String, Entry> BY_NAME = new HashMap<>();
+   // mappings changed since the last write
+   private static final List<Entry> PENDING = new ArrayList<>();
+   private static boolean loaded = false;
+   private static int logRecords = 0;
+   // set when the file is missing records held in memory, so the next write rewrites it
+   private static boolean needsRewrite = false;
+
+   private UsernameCacheStore() {
+   }
+
+   /**
+    * @return the cached UUID for a username (case-insensitive), or null if unknown
+    */
+   static synchronized UUID uuidFor(String username) {
+      ensureLoaded();
+      Entry entry = BY_NAME.get(username.toLowerCase(Locale.ROOT));
+      if (entry == null) {
+         return null;
+      }
+      UUID uuid = entry.uuid();
+      // touch for LRU ordering
+      BY_UUID.get(uuid);
+      return uuid;
+   }
+
+   /**
+    * @return the cached username for a UUID, or null if unknown
+    */
+   static synchronized String nameFor(UUID uuid) {
+      ensureLoaded();
+      Entry entry = BY_UUID.get(uuid);
+      return entry != null ? entry.name() : null;
+   }
+
+   /**
+    * records a mapping and queues it for the writer. unchanged mappings only refresh the LRU
+    * order and do not touch disk.
+    */
+   static synchronized void put(UUID uuid, String username) {
+      ensureLoaded();
+      Entry existing = BY_UUID.get(uuid);
+      if (existing != null && existing.name().equals(username)) {
+         return;
+      }
+      PENDING.add(insert(uuid, username));
+      WRITER.execute(UsernameCacheStore::writePending);
+   }
+
+   /**
+    * waits briefly for queued writes to reach the disk. used on shutdown.
+    */
+   static void flush() {
+      try {
+         WRITER.submit(UsernameCacheStore::writePending).get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (ExecutionException | TimeoutException e) {
+         LOGGER.warn("[lsu-uuid-cache] cached usernames may not have been fully written");
+      }
+   }
+
+   private static Entry insert(UUID uuid, String username) {
+      Entry entry = new Entry(uuid, username);
+      Entry previous = BY_UUID.put(uuid, entry);
+      if (previous != null) {
+         BY_NAME.remove(previous.lowerName(), previous);
+      }
+      Entry displaced = BY_NAME.put(entry.lowerName(), entry);
+      if (displaced != null && displaced != previous) {
+         // a name now belongs to a different account, drop the stale owner
+         BY_UUID.remove(displaced.uuid());
+      }
+
+      Iterator<Entry> eldest = BY_UUID.values().iterator();
+      while (BY_UUID.size() > MAX_ENTRIES && eldest.hasNext()) {
+         Entry evicted = eldest.next();
+         eldest.remove();
+         BY_NAME.remove(evicted.lowerName(), evicted);
+      }
+      return entry;
+   }
+
+   private static void ensureLoaded() {
+      if (loaded) {
+         return;
+      }
+      loaded = true;
+
+      Path path = getPath();
+      if (Files.exists(path)) {
+         needsRewrite = readLog(path);
+      } else {
+         migrateFromConfig();
+         needsRewrite = true;
+      }
+      if (needsRewrite || logRecords >= BY_UUID.size() + COMPACTION_SLACK) {
+         WRITER.execute(UsernameCacheStore::writePending);
+      }
+      LOGGER.info("[lsu-uuid-cache] loaded {} cached usernames", BY_UUID.size());
+   }
+
+   /**
+    * replays the log into memory.
+    *
+    * @return true if the file was damaged or cut short and should be rewritten
+    */
+   private static boolean readLog(Path path) {
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+         if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            LOGGER.warn("[lsu-uuid-cache] ignoring cache file with unknown format");
+            return true;
+         }
+         while (true) {
+            long most;
+            try {
+               most = in.readLong();
+            } catch (EOFException end) {
+               return false;
+            }
+            long least = in.readLong();
+            String name = in.readUTF();
+            insert(new UUID(most, least), name);
+            logRecords++;
+         }
+      } catch (EOFException e) {
+         LOGGER.warn("[lsu-uuid-cache] cache file ended mid-record, keeping {} entries", BY_UUID.size());
+         return true;
+      } catch (IOException e) {
+         LOGGER.error("[lsu-uuid-cache] failed to read cache file", e);
+         return true;
+      }
+   }
+
+   /**
+    * imports the mappings that older versions kept in the main config, then clears them there.
+    */
+   private static void migrateFromConfig() {
+      Map<String, String> legacy = Config.getUuidUsernameCache();
+      if (legacy != null && !legacy.isEmpty()) {
+         for (Map.Entry<String, String> mapping : legacy.entrySet()) {
+            if (mapping.getValue() == null || mapping.getValue().isBlank()) continue;
+            try {
+               insert(UUID.fromString(mapping.getKey()), mapping.getValue());
+            } catch (IllegalArgumentException ignored) {
+            }
+         }
+         LOGGER.info("[lsu-uuid-cache] migrated {} usernames from the main config", BY_UUID.size());
+         Config.setUuidUsernameCache(new HashMap<>());
+      }
+   }
+
+   /**
+    * runs on the writer: appends the queued mappings, or rewrites the log from the live
+    * entries once it has grown well past them, is missing, or a previous write failed.
+    */
+   private static void writePending() {
+      // appending to a missing file would leave it without a header
+      boolean missing = !Files.exists(getPath());
+      List<Entry> pending;
+      List<Entry> live = null;
+      synchronized (UsernameCacheStore.class) {
+         pending = new ArrayList<>(PENDING);
+         PENDING.clear();
+         if (missing || needsRewrite || logRecords + pending.size() >= BY_UUID.size() + COMPACTION_SLACK) {
+            // values() iterates without touching the access order
+            live = new ArrayList<>(BY_UUID.values());
+         }
+      }
+      boolean written = live != null ? compact(live) : pending.isEmpty() || append(pending);
+      synchronized (UsernameCacheStore.class) {
+         if (!written) {
+            needsRewrite = true;
+         } else if (live != null) {
+            needsRewrite = false;
+            logRecords = live.size();
+         } else {
+            logRecords += pending.size();
+         }
+      }
+   }
+
+   private static boolean append(List<Entry> entries) {
+      Path path = getPath();
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+              Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+         for (Entry entry : entries) {
+            writeRecord(out, entry.uuid(), entry.name());
+         }
+         return true;
+      } catch (IOException e) {
+         LOGGER.error("[lsu-uuid-cache] failed to append to cache file", e);
+         return false;
+      }
+   }
+
+   /**
+    * rewrites the log with only the live entries, oldest first so replay restores LRU order.
+    */
+   private static boolean compact(List<Entry> live) {
+      Path path = getPath();
+      Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+      try {
+         Files.createDirectories(path.getParent());
+         try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (Entry entry : live) {
+               writeRecord(out, entry.uuid(), entry.name());
+            }
+         }
+         Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         return true;
+      } catch (IOException e) {
+         LOGGER.error("[lsu-uuid-cache] failed to compact cache file", e);
+         return false;
+      }
+   }
+
+   private static void writeRecord(DataOutputStream out, UUID uuid, String username) throws IOException {
+      out.writeLong(uuid.getMostSignificantBits());
+      out.writeLong(uuid.getLeastSignificantBits());
+      out.writeUTF(username);
+   }
+
+   private static Path getPath() {
+      return FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+   }
+
+   private static ExecutorService createWriter() {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+         Thread thread = new Thread(runnable, "lsu-uuid-cache-writer");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+   }
+
+   private record Entry(UUID uuid, String name, String lowerName) {
+      private Entry(UUID uuid, String name) {
+         this(uuid, name, name.toLowerCase(Locale.ROOT));
+      }
+   }
+}
@@ -0,0 +1,213 @@
+package dev.candycup.lifestealutils.features.alliances;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.candycup.lifestealutils.interapi.NetworkUtilsController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * asynchronous username to UUID lookups against the Geyser API.
+ * <p>
+ * concurrent lookups of the same name share one in-flight request. queued names are drained
+ * in batches by a small worker pool that paces requests instead of letting them hit the
+ * per-host rate limit, and names the API doesn't know are remembered for a while so they
+ * aren't asked for again.
+ */
+final class UuidLookupService {
+   private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/uuid-lookup");
+   private static final String GEYSER_API_URL = "https://api.geysermc.org/v2/utils/uuid/bedrock_or_java/";
+   private static final Duration API_TIMEOUT = Duration.ofSeconds(5);
+
+   private static final int MAX_WORKERS = 2;
+   private static final int BATCH_SIZE = 16;
+   private static final long MIN_REQUEST_INTERVAL_MS = 200;
+   private static final long RATE_LIMITED_BACKOFF_MS = TimeUnit.SECONDS.toMillis(3);
+   private static final int MAX_ATTEMPTS = 3;
+   private static final long NEGATIVE_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+   private static final Map<String, CompletableFuture<UuidResolver.ResolveResult>> IN_FLIGHT = new ConcurrentHashMap<>();
+   private static final Map<String, Long> UNKNOWN_UNTIL = new ConcurrentHashMap<>();
+   private static final BlockingQueue<Lookup> QUEUE = new LinkedBlockingQueue<>();
+   private static final AtomicInteger ACTIVE_WORKERS = new AtomicInteger();
+   private static final ExecutorService WORKERS = createWorkers();
+
+   // earliest time the next request may be sent, shared by all workers
+   private static long nextRequestAt = 0;
+
+   private UuidLookupService() {
+   }
+
+   /**
+    * looks up a username. the future completes off-thread with a successful result,
+    * or null if the name is unknown or the API couldn't be reached.
+    */
+   static CompletableFuture<UuidResolver.ResolveResult> lookup(String username) {
+      String key = username.toLowerCase(Locale.ROOT);
+
+      Long unknownUntil = UNKNOWN_UNTIL.get(key);
+      if (unknownUntil != null) {
+         if (System.currentTimeMillis() < unknownUntil) {
+            return CompletableFuture.completedFuture(null);
+         }
+         UNKNOWN_UNTIL.remove(key, unknownUntil);
+      }
+
+      CompletableFuture<UuidResolver.ResolveResult> created = new CompletableFuture<>();
+      CompletableFuture<UuidResolver.ResolveResult> existing = IN_FLIGHT.putIfAbsent(key, created);
+      if (existing != null) {
+         return existing;
+      }
+      created.whenComplete((result, error) -> IN_FLIGHT.remove(key, created));
+      QUEUE.add(new Lookup(key, username, created, 1));
+      ensureWorker();
+      return created;
+   }
+
+   private static void ensureWorker() {
+      while (true) {
+         int active = ACTIVE_WORKERS.get();
+         if (active >= MAX_WORKERS || active >= QUEUE.size()) return;
+         if (ACTIVE_WORKERS.compareAndSet(active, active + 1)) {
+            WORKERS.execute(UuidLookupService::drain);
+            return;
+         }
+      }
+   }
+
+   private static void drain() {
+      List<Lookup> batch = new ArrayList<>(BATCH_SIZE);
+      try {
+         while (true) {
+            batch.clear();
+            QUEUE.drainTo(batch, BATCH_SIZE);
+            if (batch.isEmpty()) return;
+            for (Lookup lookup : batch) {
+               process(lookup);
+            }
+         }
+      } finally {
+         ACTIVE_WORKERS.decrementAndGet();
+         // a lookup queued while this worker was exiting would otherwise wait for the next caller
+         if (!QUEUE.isEmpty()) ensureWorker();
+      }
+   }
+
+   private static void process(Lookup lookup) {
+      try {
+         awaitRequestSlot();
+         String url = GEYSER_API_URL + URLEncoder.encode(lookup.username(), StandardCharsets.UTF_8) + "?prefix=.";
+         NetworkUtilsController.HttpResult result = NetworkUtilsController.get(url, API_TIMEOUT);
+
+         if (result.statusCode() == 429) {
+            deferRequests(RATE_LIMITED_BACKOFF_MS);
+            if (lookup.attempt() < MAX_ATTEMPTS) {
+               QUEUE.add(new Lookup(lookup.key(), lookup.username(), lookup.future(), lookup.attempt() + 1));
+               return;
+            }
+            lookup.future().complete(null);
+            return;
+         }
+
+         if (result.success() && result.body() != null) {
+            UuidResolver.ResolveResult resolved = parse(result.body(), lookup.username());
+            if (resolved != null) {
+               UuidResolver.updateCache(resolved.uuid(), resolved.username());
+               lookup.future().complete(resolved);
+               return;
+            }
+            markUnknown(lookup.key());
+         } else if (result.statusCode() >= 400 && result.statusCode() < 500) {
+            markUnknown(lookup.key());
+         }
+         // transport failures and server errors are not remembered; the next caller retries
+         lookup.future().complete(null);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         lookup.future().complete(null);
+      } catch (Exception e) {
+         LOGGER.debug("[lsu-uuid-lookup] lookup failed for {}: {}", lookup.username(), e.getMessage());
+         lookup.future().complete(null);
+      }
+   }
+
+   private static UuidResolver.ResolveResult parse(String body, String requestedName) {
+      JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+      String id = json.has("id") ? json.get("id").getAsString() : null;
+      String name = json.has("name") ? json.get("name").getAsString() : null;
+      if (id == null || id.isBlank()) return null;
+
+      // the API returns UUID without dashes
+      UUID uuid = parseUuidWithoutDashes(id);
+      if (uuid == null) return null;
+      return new UuidResolver.ResolveResult(uuid, name != null ? name : requestedName, false);
+   }
+
+   private static void markUnknown(String key) {
+      UNKNOWN_UNTIL.put(key, System.currentTimeMillis() + NEGATIVE_TTL_MS);
+   }
+
+   private static void awaitRequestSlot() throws InterruptedException {
+      long wait;
+      synchronized (UuidLookupService.class) {
+         long now = System.currentTimeMillis();
+         long slot = Math.max(now, nextRequestAt);
+         nextRequestAt = slot + MIN_REQUEST_INTERVAL_MS;
+         wait = slot - now;
+      }
+      if (wait > 0) {
+         Thread.sleep(wait);
+      }
+   }
+
+   private static synchronized void deferRequests(long delayMs) {
+      nextRequestAt = Math.max(nextRequestAt, System.currentTimeMillis() + delayMs);
+   }
+
+   /**
+    * parses a UUID string that may or may not have dashes.
+    */
+   private static UUID parseUuidWithoutDashes(String id) {
+      String clean = id.replace("-", "");
+      if (clean.length() != 32) return null;
+      try {
+         return new UUID(
+                 Long.parseUnsignedLong(clean.substring(0, 16), 16),
+                 Long.parseUnsignedLong(clean.substring(16, 32), 16)
+         );
+      } catch (NumberFormatException e) {
+         return null;
+      }
+   }
+
+   private static ExecutorService createWorkers() {
+      AtomicInteger counter = new AtomicInteger();
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+         Thread thread = new Thread(runnable, "lsu-uuid-lookup-" + counter.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+   }
+
+   private record Lookup(String key, String username, CompletableFuture<UuidResolver.ResolveResult> future, int attempt) {
+   }
+}
@@ -1,6 +1,7 @@
 package dev.candycup.lifestealutils.features.baltop;
 
 import com.mojang.authlib.properties.PropertyMap;
+import dev.candycup.lifestealutils.Config;
 import dev.candycup.lifestealutils.ui.BaltopScreen;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
@@ -17,15 +18,29 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Scrapes the server's /baltop GUI to extract player balance data.
- * Reads directly from the player's container menu instead of intercepting packets.
+ * Reads directly from the player's container menu. Page turns are detected from the
+ * container content/slot packets rather than by polling, so each page is read as soon
+ * as the server has sent it.
+ * <p>
+ * When a saved leaderboard exists, a refresh can stop before the last page: once enough
+ * consecutive pages match the saved one, or after a requested number of top pages, the
+ * rest of the saved leaderboard is merged in below the freshly scraped ranks. Stopping on
+ * matching pages needs a saved leaderboard that covers every rank and a recent scrape that
+ * read every page; without them the whole leaderboard is scraped.
  */
 public class BaltopScraper {
    private static final Logger LOGGER = LoggerFactory.getLogger("LifestealUtils/BaltopScraper");
@@ -36,13 +51,18 @@ public class BaltopScraper {
    private static final int MAX_PAGES = 50;
 
    /**
-    * ticks to wait after clicking before reading new content
+    * ticks to wait for the server to send the next page after a click
     */
-   private static final int WAIT_AFTER_CLICK_TICKS = 10;
+   private static final int MAX_WAIT_FOR_CHANGE_TICKS = 100; // 5 seconds
    /**
-    * ticks to wait for content to change after click
+    * ticks without slot updates before a page sent slot by slot is considered complete
     */
-   private static final int MAX_WAIT_FOR_CHANGE_TICKS = 100; // 5 seconds
+   private static final int SLOT_SETTLE_TICKS = 2;
+   /**
+    * a refresh stops early only if every page was read more recently than this, so merged-in
+    * ranks can't drift indefinitely
+    */
+   private static final long FULL_REFRESH_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(12);
 
    private static BaltopScraper instance;
 
@@ -63,9 +83,36 @@ public class BaltopScraper {
    private BaltopScreen activeScreen;
 
    /**
-    * hash of the last processed container contents to detect changes
+    * rank of the first head on the last page read; a resync of that same page is not a page turn
+    */
+   private int lastPageFirstPosition = -1;
+   /**
+    * container id and state id when the last page was read, -1 if none. every newly opened
+    * container restarts its state ids, so the pair is needed to tell pages apart
+    */
+   private int lastReadContainerId = -1;
+   private int lastReadStateId = -1;
+   /**
+    * ticks since the last slot update, or -1 if none is waiting to be read. a burst of
+    * single-slot updates is read as one page once it has settled
+    */
+   private int ticksSinceSlotChange = -1;
+
+   /**
+    * rows of the saved leaderboard by position to compare pages against, or null when the
+    * scrape may not stop on matching pages
+    */
+   private Map<Integer, BaltopSnapshotStore.Entry> savedByPosition;
+   /**
+    * the saved leaderboard merged in below the scraped ranks if the scrape stops early
+    */
+   private List<BaltopSnapshotStore.Entry> savedEntries;
+   private boolean savedComplete;
+   /**
+    * stop after this many pages, 0 to scrape until the last page
     */
-   private int lastContentHash = 0;
+   private int pageLimit;
+   private int consecutiveMatchingPages = 0;
 
    private BaltopScraper() {
    }
@@ -101,6 +148,14 @@ public class BaltopScraper {
     * Opens the BaltopScreen immediately so the user sees our loading UI.
     */
    public void startScraping(Screen currentScreen, Consumer<String> onError) {
+      startScraping(currentScreen, onError, 0);
+   }
+
+   /**
+    * Starts the baltop scraping process, reading at most {@code topPages} pages
+    * (0 for no limit) and taking the ranks below them from the saved leaderboard.
+    */
+   public void startScraping(Screen currentScreen, Consumer<String> onError, int topPages) {
       if (isScraping()) {
          LOGGER.warn("Already scraping baltop, ignoring duplicate request");
          return;
@@ -120,7 +175,13 @@ public class BaltopScraper {
       scrapedEntries.clear();
       errorCallback = onError;
       screenToRestore = currentScreen;
-      lastContentHash = 0;
+      lastPageFirstPosition = -1;
+      lastReadContainerId = -1;
+      lastReadStateId = -1;
+      ticksSinceSlotChange = -1;
+      pageLimit = Math.max(0, topPages);
+      consecutiveMatchingPages = 0;
+      loadSavedLeaderboard(pageLimit > 0 || Config.isBaltopIncrementalRefresh());
 
       // open our BaltopScreen immediately to show loading state
       activeScreen = new BaltopScreen(screenToRestore, this);
@@ -159,7 +220,27 @@ public class BaltopScraper {
    }
 
    /**
-    * Called every client tick. This is where all the state machine logic lives.
+    * Called after vanilla applied a full container content packet. A whole page has arrived,
+    * so it is read immediately.
+    */
+   public void onContainerContent() {
+      if (state != State.WAITING_FOR_GUI && state != State.WAITING_AFTER_CLICK) return;
+      ticksSinceSlotChange = -1;
+      tryReadPage(Minecraft.getInstance());
+   }
+
+   /**
+    * Called after vanilla applied a single-slot update. Pages sent slot by slot are read
+    * once no further updates have arrived for {@link #SLOT_SETTLE_TICKS} ticks, so heads
+    * updated in later ticks aren't missed.
+    */
+   public void onContainerSlot() {
+      if (state != State.WAITING_FOR_GUI && state != State.WAITING_AFTER_CLICK) return;
+      ticksSinceSlotChange = 0;
+   }
+
+   /**
+    * Called every client tick. Reads pages sent as slot updates and handles timeouts.
     */
    public void tick() {
       if (state == State.IDLE || state == State.FINISHED) return;
@@ -167,30 +248,72 @@ public class BaltopScraper {
       Minecraft client = Minecraft.getInstance();
       ticksWaited++;
 
-      switch (state) {
-         case WAITING_FOR_GUI -> handleWaitingForGui(client);
-         case READING_PAGE -> handleReadingPage(client);
-         case WAITING_AFTER_CLICK -> handleWaitingAfterClick(client);
-         default -> {
+      if (ticksSinceSlotChange >= 0 && ++ticksSinceSlotChange >= SLOT_SETTLE_TICKS) {
+         ticksSinceSlotChange = -1;
+         if (tryReadPage(client)) return;
+      }
+
+      if (ticksWaited > MAX_WAIT_FOR_CHANGE_TICKS) {
+         if (state == State.WAITING_FOR_GUI) {
+            cancelScraping("Timed out waiting for baltop GUI to open");
+         } else if (state == State.WAITING_AFTER_CLICK) {
+            cancelScraping("Timed out waiting for page to change after clicking");
          }
       }
    }
 
-   private void handleWaitingForGui(Minecraft client) {
-      // check if a container menu is available (may be opened invisibly)
-      if (client.player != null && client.player.containerMenu != null
-              && client.player.containerMenu != client.player.inventoryMenu) {
-         // container is open, start reading
-         LOGGER.info("Container menu opened with {} slots", client.player.containerMenu.slots.size());
-         state = State.READING_PAGE;
-         ticksWaited = 0;
-         return;
+   /**
+    * Reads the open container if it holds a page that hasn't been read yet.
+    *
+    * @return true if a page was read
+    */
+   private boolean tryReadPage(Minecraft client) {
+      AbstractContainerMenu menu = client.player != null ? client.player.containerMenu : null;
+      if (menu == null) {
+         cancelScraping("Container closed unexpectedly");
+         return false;
+      }
+      if (menu == client.player.inventoryMenu) {
+         // an inventory update, or the server is swapping containers between pages
+         return false;
+      }
+      if (menu.containerId == lastReadContainerId && menu.getStateId() == lastReadStateId) {
+         return false;
+      }
+      int firstPosition = firstPosition(menu);
+      if (firstPosition < 0 || firstPosition == lastPageFirstPosition) {
+         // not populated yet, or the server resynced the page we already have
+         return false;
       }
+      if (state == State.WAITING_FOR_GUI) {
+         LOGGER.info("Container menu opened with {} slots", menu.slots.size());
+      }
+      lastPageFirstPosition = firstPosition;
+      lastReadContainerId = menu.containerId;
+      lastReadStateId = menu.getStateId();
+      state = State.READING_PAGE;
+      ticksWaited = 0;
+      handleReadingPage(client);
+      return true;
+   }
 
-      // timeout check
-      if (ticksWaited > MAX_WAIT_FOR_CHANGE_TICKS) {
-         cancelScraping("Timed out waiting for baltop GUI to open");
+   /**
+    * @return the rank of the first player head in the container, or -1 if there is none
+    */
+   private int firstPosition(AbstractContainerMenu menu) {
+      for (int i = 0; i < Math.min(54, menu.slots.size()); i++) {
+         ItemStack stack = menu.slots.get(i).getItem();
+         if (!stack.is(Items.PLAYER_HEAD)) continue;
+         Matcher nameMatcher = NAME_PATTERN.matcher(stack.getHoverName().getString());
+         if (nameMatcher.matches()) {
+            try {
+               return Integer.parseInt(nameMatcher.group(1));
+            } catch (NumberFormatException ignored) {
+               return -1;
+            }
+         }
       }
+      return -1;
    }
 
    private void handleReadingPage(Minecraft client) {
@@ -203,6 +326,8 @@ public class BaltopScraper {
       // read items directly from the container menu slots
       int nextPageSlot = -1;
       int newEntries = 0;
+      boolean pageMatchesSaved = savedByPosition != null;
+      int pageEntries = 0;
 
       LOGGER.info("Reading container with {} slots", menu.slots.size());
 
@@ -224,6 +349,8 @@ public class BaltopScraper {
          if (stack.is(Items.PLAYER_HEAD)) {
             BaltopEntry entry = parsePlayerHead(stack);
             if (entry != null) {
+               pageEntries++;
+               pageMatchesSaved &= matchesSaved(entry);
                // check for duplicate by position
                boolean isDuplicate = scrapedEntries.stream()
                        .anyMatch(e -> e.position() == entry.position());
@@ -244,11 +371,21 @@ public class BaltopScraper {
          activeScreen.refreshEntries();
       }
 
-      // compute content hash for change detection
-      lastContentHash = computeContentHash(menu);
+      if (pageMatchesSaved && pageEntries > 0) {
+         consecutiveMatchingPages++;
+      } else {
+         consecutiveMatchingPages = 0;
+      }
 
       // check if we should continue to next page
-      if (nextPageSlot >= 0 && pagesScraped < MAX_PAGES) {
+      if (nextPageSlot >= 0 && pageLimit > 0 && pagesScraped >= pageLimit) {
+         LOGGER.info("Scraped the requested top {} pages", pageLimit);
+         finishScraping(true);
+      } else if (nextPageSlot >= 0 && savedByPosition != null
+              && consecutiveMatchingPages >= Config.getBaltopMatchingPagesToStop()) {
+         LOGGER.info("{} consecutive pages match the saved leaderboard - stopping early", consecutiveMatchingPages);
+         finishScraping(true);
+      } else if (nextPageSlot >= 0 && pagesScraped < MAX_PAGES) {
          LOGGER.info("Clicking Next Page button at slot {}", nextPageSlot);
          clickSlot(client, menu, nextPageSlot);
          state = State.WAITING_AFTER_CLICK;
@@ -259,50 +396,8 @@ public class BaltopScraper {
          } else {
             LOGGER.info("Reached max page limit ({})", MAX_PAGES);
          }
-         finishScraping();
-      }
-   }
-
-   private void handleWaitingAfterClick(Minecraft client) {
-      // wait a minimum number of ticks
-      if (ticksWaited < WAIT_AFTER_CLICK_TICKS) {
-         return;
-      }
-
-      AbstractContainerMenu menu = client.player != null ? client.player.containerMenu : null;
-      if (menu == null) {
-         cancelScraping("Container closed unexpectedly");
-         return;
-      }
-
-      // check if content has changed
-      int currentHash = computeContentHash(menu);
-      if (currentHash != lastContentHash) {
-         LOGGER.info("Container content changed (hash {} -> {}), reading new page", lastContentHash, currentHash);
-         state = State.READING_PAGE;
-         ticksWaited = 0;
-         return;
-      }
-
-      // timeout check
-      if (ticksWaited > MAX_WAIT_FOR_CHANGE_TICKS) {
-         cancelScraping("Timed out waiting for page to change after clicking");
-      }
-   }
-
-   /**
-    * Computes a hash of the container contents for change detection.
-    */
-   private int computeContentHash(AbstractContainerMenu menu) {
-      int hash = 0;
-      for (int i = 0; i < Math.min(54, menu.slots.size()); i++) {
-         ItemStack stack = menu.slots.get(i).getItem();
-         if (!stack.isEmpty()) {
-            hash = 31 * hash + stack.getHoverName().getString().hashCode();
-            hash = 31 * hash + stack.getCount();
-         }
+         finishScraping(false);
       }
-      return hash;
    }
 
    /**
@@ -356,16 +451,11 @@ public class BaltopScraper {
          if (rawBalance.contains(".")) {
             rawBalance = rawBalance.substring(0, rawBalance.indexOf('.'));
          }
-         String balance = "$" + rawBalance;
+         long balance = Long.parseLong(rawBalance.replace(",", ""));
 
          ResolvableProfile profile = stack.get(DataComponents.PROFILE);
          if (profile == null) {
-            // create a minimal profile if none was found
-            //? if >1.21.8 {
-            profile = ResolvableProfile.createUnresolved(username);
-            //?} else {
-            /*profile = new ResolvableProfile(Optional.of(username), Optional.empty(), new PropertyMap());
-             *///?}
+            profile = fallbackProfile(username);
             LOGGER.warn("Could not extract profile for player {} - using fallback profile", username);
          }
 
@@ -377,12 +467,113 @@ public class BaltopScraper {
       }
    }
 
-   private void finishScraping() {
+   /**
+    * Creates a minimal profile for a player whose head carried none, resolved by name later.
+    */
+   static ResolvableProfile fallbackProfile(String username) {
+      //? if >1.21.8 {
+      return ResolvableProfile.createUnresolved(username);
+      //?} else {
+      /*return new ResolvableProfile(Optional.of(username), Optional.empty(), new PropertyMap());
+       *///?}
+   }
+
+   /**
+    * Keeps the saved leaderboard around for comparing and merging, if one should be used.
+    * Pages are only compared against a complete leaderboard, since a partial one has no ranks
+    * past its last page to merge in, and only while the last scrape of every page is recent:
+    * a merged leaderboard is complete but its tail wasn't read again. The tail for a top-pages
+    * scrape comes from the newest complete leaderboard, or failing that the newest partial one.
+    */
+   private void loadSavedLeaderboard(boolean incremental) {
+      savedByPosition = null;
+      savedEntries = null;
+      savedComplete = false;
+      if (!incremental) return;
+
+      BaltopSnapshotStore.Snapshot complete = BaltopSnapshotStore.latestComplete();
+      BaltopSnapshotStore.Snapshot fullyRead = BaltopSnapshotStore.latestFullyRead();
+      boolean fresh = complete != null && !complete.entries().isEmpty() && fullyRead != null
+              && System.currentTimeMillis() - fullyRead.takenAt() < FULL_REFRESH_INTERVAL_MILLIS;
+      if (fresh) {
+         savedByPosition = new HashMap<>(complete.entries().size() * 2);
+         for (BaltopSnapshotStore.Entry entry : complete.entries()) {
+            savedByPosition.putIfAbsent(entry.position(), entry);
+         }
+      } else if (pageLimit == 0) {
+         LOGGER.info("No recent scrape of every page saved - scraping every page");
+         return;
+      }
+
+      BaltopSnapshotStore.Snapshot tail = complete != null ? complete : BaltopSnapshotStore.latest();
+      if (tail != null && !tail.entries().isEmpty()) {
+         savedEntries = tail.entries();
+         savedComplete = tail.complete();
+      }
+   }
+
+   private boolean matchesSaved(BaltopEntry entry) {
+      if (savedByPosition == null) return false;
+      BaltopSnapshotStore.Entry saved = savedByPosition.get(entry.position());
+      return saved != null && saved.balance() == entry.balance() && saved.username().equals(entry.username());
+   }
+
+   /**
+    * Appends every saved player missing from the scraped pages below the last scraped rank.
+    * That includes players who dropped out of the scraped range as well as those who were
+    * always below it. They are ordered by saved balance and numbered on from the last scraped
+    * rank, so players who moved up leave no gaps.
+    *
+    * @return true if a saved leaderboard was merged in
+    */
+   private boolean mergeSavedTail() {
+      if (savedEntries == null || scrapedEntries.isEmpty()) return false;
+      int lastScrapedPosition = 0;
+      Set<String> scrapedNames = new HashSet<>(scrapedEntries.size() * 2);
+      for (BaltopEntry entry : scrapedEntries) {
+         lastScrapedPosition = Math.max(lastScrapedPosition, entry.position());
+         scrapedNames.add(entry.username());
+      }
+
+      List<BaltopSnapshotStore.Entry> tail = new ArrayList<>();
+      for (BaltopSnapshotStore.Entry saved : savedEntries) {
+         if (!scrapedNames.contains(saved.username())) {
+            tail.add(saved);
+         }
+      }
+      // stable, so equal balances keep their saved order
+      tail.sort((a, b) -> Long.compare(b.balance(), a.balance()));
+
+      int position = lastScrapedPosition;
+      for (BaltopSnapshotStore.Entry saved : tail) {
+         position++;
+         scrapedEntries.add(new BaltopEntry(position, saved.username(), saved.balance(), fallbackProfile(saved.username())));
+      }
+      LOGGER.info("Merged {} saved entries below position {}", tail.size(), lastScrapedPosition);
+      return true;
+   }
+
+   /**
+    * @param stoppedEarly whether pages were left unread, so the saved tail should be merged in
+    */
+   private void finishScraping(boolean stoppedEarly) {
+      // the result covers every rank if all pages were read or the tail came from a complete leaderboard
+      boolean complete = !stoppedEarly || (mergeSavedTail() && savedComplete);
+      savedByPosition = null;
+      savedEntries = null;
       LOGGER.info("Finished scraping baltop: {} entries across {} pages",
               scrapedEntries.size(), pagesScraped);
 
       state = State.FINISHED;
 
+      if (!scrapedEntries.isEmpty()) {
+         List<BaltopSnapshotStore.Entry> rows = new ArrayList<>(scrapedEntries.size());
+         for (BaltopEntry entry : scrapedEntries) {
+            rows.add(new BaltopSnapshotStore.Entry(entry.position(), entry.username(), entry.balance()));
+         }
+         BaltopSnapshotStore.record(rows, complete, !stoppedEarly);
+      }
+
       Minecraft client = Minecraft.getInstance();
       BaltopScreen screen = activeScreen;
 
@@ -406,9 +597,35 @@ public class BaltopScraper {
       errorCallback = null;
       screenToRestore = null;
       activeScreen = null;
-      lastContentHash = 0;
+      lastPageFirstPosition = -1;
+      lastReadContainerId = -1;
+      lastReadStateId = -1;
+      ticksSinceSlotChange = -1;
+      savedByPosition = null;
+      savedEntries = null;
+      savedComplete = false;
    }
 
-   public record BaltopEntry(int position, String username, String balance, ResolvableProfile profile) {
+   public record BaltopEntry(int position, String username, long balance, ResolvableProfile profile) {
+      /**
+       * Rebuilds an entry from stored history. The profile is resolved by name when drawn.
+       */
+      public static BaltopEntry fromSnapshot(BaltopSnapshotStore.Entry entry) {
+         return new BaltopEntry(entry.position(), entry.username(), entry.balance(), fallbackProfile(entry.username()));
+      }
+
+      /**
+       * @return the balance as the server shows it, e.g. "$1,234"
+       */
+      public String formattedBalance() {
+         return formatBalance(balance);
+      }
+   }
+
+   /**
+    * Formats a whole-coin amount with grouping separators, e.g. "$1,234".
+    */
+   public static String formatBalance(long balance) {
+      return String.format(Locale.ROOT, "$%,d", balance);
    }
 }
@@ -0,0 +1,120 @@
+package dev.candycup.lifestealutils.features.baltop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * case-insensitive substring search over baltop usernames.
+ * <p>
+ * names are added in rank order and indexed by their character trigrams. a query of three
+ * or more characters only checks the names that contain every trigram of the query; shorter
+ * queries fall back to scanning the lowercase names. results are returned in rank order.
+ */
+public final class BaltopSearchIndex {
+   private final List<String> lowerNames = new ArrayList<>();
+   private final Map<Long, IntList> postings = new HashMap<>();
+
+   /**
+    * indexes the next name. names must be added in display order.
+    */
+   public void add(String username) {
+      String lower = username.toLowerCase(Locale.ROOT);
+      int id = lowerNames.size();
+      lowerNames.add(lower);
+      for (int i = 0; i + 3 <= lower.length(); i++) {
+         IntList list = postings.computeIfAbsent(trigram(lower, i), key -> new IntList());
+         // a name repeating a trigram would otherwise be listed twice
+         if (list.size == 0 || list.last() != id) {
+            list.add(id);
+         }
+      }
+   }
+
+   public int size() {
+      return lowerNames.size();
+   }
+
+   public void clear() {
+      lowerNames.clear();
+      postings.clear();
+   }
+
+   /**
+    * @return whether the name at {@code index} contains the query, ignoring case
+    */
+   public boolean matches(int index, String query) {
+      return lowerNames.get(index).contains(query.toLowerCase(Locale.ROOT));
+   }
+
+   /**
+    * @return the indices of names containing the query, ascending; every index for a blank query
+    */
+   public int[] search(String query) {
+      String lower = query.toLowerCase(Locale.ROOT).trim();
+      if (lower.isEmpty()) {
+         int[] all = new int[lowerNames.size()];
+         Arrays.setAll(all, i -> i);
+         return all;
+      }
+      if (lower.length() < 3) {
+         return scan(lower);
+      }
+
+      // start from the rarest trigram so the candidate set is as small as possible
+      IntList rarest = null;
+      for (int i = 0; i + 3 <= lower.length(); i++) {
+         IntList list = postings.get(trigram(lower, i));
+         if (list == null) {
+            return new int[0];
+         }
+         if (rarest == null || list.size < rarest.size) {
+            rarest = list;
+         }
+      }
+
+      int[] result = new int[rarest.size];
+      int count = 0;
+      for (int i = 0; i < rarest.size; i++) {
+         int id = rarest.values[i];
+         if (lowerNames.get(id).contains(lower)) {
+            result[count++] = id;
+         }
+      }
+      return Arrays.copyOf(result, count);
+   }
+
+   private int[] scan(String lower) {
+      int[] result = new int[lowerNames.size()];
+      int count = 0;
+      for (int i = 0; i < lowerNames.size(); i++) {
+         if (lowerNames.get(i).contains(lower)) {
+            result[count++] = i;
+         }
+      }
+      return Arrays.copyOf(result, count);
+   }
+
+   private static long trigram(String s, int start) {
+      return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+   }
+
+   private static final class IntList {
+      private int[] values = new int[4];
+      private int size;
+
+      private void add(int value) {
+         if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+         }
+         values[size++] = value;
+      }
+
+      private int last() {
+         return values[size - 1];
+      }
+   }
+}
@@ -0,0 +1,470 @@
+package dev.candycup.lifestealutils.features.baltop;
+
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * persistent history of finished baltop scrapes.
+ * <p>
+ * each scrape is kept as a timestamped snapshot in a binary log. player names are interned
+ * into a table shared by the whole file, so a snapshot only stores name ids, and balances are
+ * stored as the difference from the same player's balance in the previous snapshot. a player
+ * whose balance hasn't moved costs a few bytes per snapshot.
+ * <p>
+ * the log is read and written on a background thread. readers see the snapshots in memory,
+ * which are updated immediately on {@link #record}; new snapshots are appended to the file,
+ * and the file is only rewritten (dropping all but the newest {@link #MAX_SNAPSHOTS}) once it
+ * holds twice that many.
+ */
+public final class BaltopSnapshotStore {
+   private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/baltop-store");
+   private static final String FILE_NAME = "lifestealutils-baltop.bin";
+   private static final int MAGIC = 0x4C535542; // "LSUB"
+   // version 2 adds a flags byte per snapshot
+   private static final int FORMAT_VERSION = 2;
+   private static final int FLAG_COMPLETE = 1;
+   private static final int FLAG_FULLY_READ = 2;
+   private static final int MAX_SNAPSHOTS = 48;
+   private static final int MAX_LOGGED_SNAPSHOTS = MAX_SNAPSHOTS * 2;
+   private static final long FLUSH_TIMEOUT_MS = 2000;
+
+   private static final ExecutorService EXECUTOR = createExecutor();
+   private static final CompletableFuture<Void> LOADED = new CompletableFuture<>();
+   private static final AtomicBoolean LOAD_STARTED = new AtomicBoolean();
+
+   // guarded by LOCK: the newest snapshots, and those recorded but not yet written
+   private static final Object LOCK = new Object();
+   private static final List<Snapshot> SNAPSHOTS = new ArrayList<>();
+   private static final List<Snapshot> PENDING = new ArrayList<>();
+
+   // encoder state matching the end of the log, only touched on the writer thread
+   private static final Map<String, Integer> NAME_IDS = new HashMap<>();
+   private static final List<String> NAMES = new ArrayList<>();
+   private static long[] lastBalances = new long[64];
+   // names in NAMES below this index are already in the log's name table
+   private static int writtenNames = 0;
+   private static int loggedSnapshots = 0;
+   // set when a write failed part way, so the encoder may not match the file; the next write rewrites it
+   private static boolean needsRewrite = false;
+
+   private BaltopSnapshotStore() {
+   }
+
+   /**
+    * one ranked row of a snapshot.
+    */
+   public record Entry(int position, String username, long balance) {
+   }
+
+   /**
+    * a finished scrape.
+    *
+    * @param takenAt   epoch millis when the scrape finished
+    * @param complete  whether the snapshot covers the whole leaderboard, rather than only its top pages
+    * @param fullyRead whether every page was scraped, rather than some ranks merged in from an older snapshot
+    * @param entries   rows ordered by position
+    * @param byName    the same rows keyed by username
+    */
+   public record Snapshot(long takenAt, boolean complete, boolean fullyRead, List<Entry> entries, Map<String, Entry> byName) {
+      private static Snapshot of(long takenAt, boolean complete, boolean fullyRead, List<Entry> entries) {
+         Map<String, Entry> byName = new HashMap<>(entries.size() * 2);
+         for (Entry entry : entries) {
+            byName.putIfAbsent(entry.username(), entry);
+         }
+         return new Snapshot(takenAt, complete, fullyRead, Collections.unmodifiableList(entries), Collections.unmodifiableMap(byName));
+      }
+
+      /**
+       * @return the player's balance in this snapshot, or null if they weren't listed
+       */
+      public Long balanceOf(String username) {
+         Entry entry = byName.get(username);
+         return entry != null ? entry.balance() : null;
+      }
+   }
+
+   /**
+    * starts reading the history file in the background if that hasn't happened yet.
+    *
+    * @return a future completing once the history is in memory
+    */
+   public static CompletableFuture<Void> load() {
+      if (LOAD_STARTED.compareAndSet(false, true)) {
+         EXECUTOR.execute(BaltopSnapshotStore::readHistory);
+      }
+      return LOADED;
+   }
+
+   public static boolean isLoaded() {
+      return LOADED.isDone();
+   }
+
+   /**
+    * @return the most recent snapshot, or null if there is none or the history isn't loaded yet
+    */
+   public static Snapshot latest() {
+      load();
+      synchronized (LOCK) {
+         return SNAPSHOTS.isEmpty() ? null : SNAPSHOTS.get(SNAPSHOTS.size() - 1);
+      }
+   }
+
+   /**
+    * @return the most recent snapshot covering the whole leaderboard, or null if there is none
+    */
+   public static Snapshot latestComplete() {
+      load();
+      synchronized (LOCK) {
+         for (int i = SNAPSHOTS.size() - 1; i >= 0; i--) {
+            if (SNAPSHOTS.get(i).complete()) {
+               return SNAPSHOTS.get(i);
+            }
+         }
+         return null;
+      }
+   }
+
+   /**
+    * @return the most recent snapshot scraped from every page, or null if there is none
+    */
+   public static Snapshot latestFullyRead() {
+      load();
+      synchronized (LOCK) {
+         for (int i = SNAPSHOTS.size() - 1; i >= 0; i--) {
+            if (SNAPSHOTS.get(i).fullyRead()) {
+               return SNAPSHOTS.get(i);
+            }
+         }
+         return null;
+      }
+   }
+
+   /**
+    * picks the snapshot to measure balance changes against: the newest one at least
+    * {@code minAgeMillis} older than {@code current}, or failing that the oldest one before it.
+    *
+    * @return the baseline, or null if {@code current} is the only snapshot
+    */
+   public static Snapshot baselineFor(Snapshot current, long minAgeMillis) {
+      synchronized (LOCK) {
+         Snapshot oldest = null;
+         for (int i = SNAPSHOTS.size() - 1; i >= 0; i--) {
+            Snapshot candidate = SNAPSHOTS.get(i);
+            if (candidate.takenAt() >= current.takenAt()) continue;
+            if (current.takenAt() - candidate.takenAt() >= minAgeMillis) {
+               return candidate;
+            }
+            oldest = candidate;
+         }
+         return oldest;
+      }
+   }
+
+   /**
+    * stores a finished scrape as a new snapshot. it is visible to readers straight away and
+    * written to disk in the background.
+    *
+    * @param complete  whether the result covers the whole leaderboard
+    * @param fullyRead whether every page was scraped
+    * @return the stored snapshot
+    */
+   public static Snapshot record(List<Entry> entries, boolean complete, boolean fullyRead) {
+      load();
+      List<Entry> sorted = new ArrayList<>(entries);
+      sorted.sort((a, b) -> Integer.compare(a.position(), b.position()));
+      Snapshot snapshot = Snapshot.of(System.currentTimeMillis(), complete, fullyRead, sorted);
+      synchronized (LOCK) {
+         SNAPSHOTS.add(snapshot);
+         trimToMax();
+         PENDING.add(snapshot);
+      }
+      EXECUTOR.execute(BaltopSnapshotStore::writePending);
+      return snapshot;
+   }
+
+   /**
+    * waits briefly for queued writes to reach the disk, retrying a failed one. used on shutdown.
+    */
+   public static void flush() {
+      try {
+         EXECUTOR.submit(BaltopSnapshotStore::writePending).get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (ExecutionException | TimeoutException e) {
+         LOGGER.warn("[lsu-baltop-store] baltop history may not have been fully written");
+      }
+   }
+
+   private static void readHistory() {
+      try {
+         List<Snapshot> fromFile = new ArrayList<>();
+         Path path = getPath();
+         boolean rewrite = Files.exists(path) && readLog(path, fromFile);
+         loggedSnapshots = fromFile.size();
+         synchronized (LOCK) {
+            // anything recorded while the file was being read is newer than its contents
+            SNAPSHOTS.addAll(0, fromFile);
+            trimToMax();
+         }
+         if (rewrite || loggedSnapshots > MAX_LOGGED_SNAPSHOTS) {
+            compact();
+         }
+         LOGGER.info("[lsu-baltop-store] loaded {} baltop snapshots", fromFile.size());
+      } finally {
+         LOADED.complete(null);
+      }
+   }
+
+   /**
+    * replays the log into {@code into}, advancing the encoder state to its end.
+    *
+    * @return true if the file was damaged, cut short or in an older format and should be rewritten
+    */
+   private static boolean readLog(Path path, List<Snapshot> into) {
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+         int version = in.readInt() == MAGIC ? in.readInt() : -1;
+         if (version != 1 && version != FORMAT_VERSION) {
+            LOGGER.warn("[lsu-baltop-store] ignoring baltop history with unknown format");
+            return true;
+         }
+         while (true) {
+            long takenAt;
+            try {
+               takenAt = in.readLong();
+            } catch (EOFException end) {
+               return version != FORMAT_VERSION;
+            }
+            // version 1 didn't track coverage, so its snapshots can't be trusted as complete
+            int flags = version >= 2 ? in.readUnsignedByte() : 0;
+            into.add(readSnapshot(in, takenAt, flags));
+         }
+      } catch (EOFException e) {
+         LOGGER.warn("[lsu-baltop-store] baltop history ended mid-record, keeping {} snapshots", into.size());
+         return true;
+      } catch (IOException e) {
+         LOGGER.error("[lsu-baltop-store] failed to read baltop history", e);
+         return true;
+      }
+   }
+
+   private static Snapshot readSnapshot(DataInput in, long takenAt, int flags) throws IOException {
+      int newNames = readVarInt(in);
+      for (int i = 0; i < newNames; i++) {
+         idFor(in.readUTF());
+      }
+      writtenNames = NAMES.size();
+      int count = readVarInt(in);
+      List<Entry> entries = new ArrayList<>(count);
+      int position = 0;
+      for (int i = 0; i < count; i++) {
+         position += readVarInt(in);
+         int nameId = readVarInt(in);
+         if (nameId >= NAMES.size()) {
+            throw new IOException("name id out of range: " + nameId);
+         }
+         long balance = lastBalances[nameId] + zigZagDecode(readVarLong(in));
+         lastBalances[nameId] = balance;
+         entries.add(new Entry(position, NAMES.get(nameId), balance));
+      }
+      return Snapshot.of(takenAt, (flags & FLAG_COMPLETE) != 0, (flags & FLAG_FULLY_READ) != 0, entries);
+   }
+
+   /**
+    * encodes a snapshot against the current encoder state and advances it.
+    */
+   private static void writeSnapshot(DataOutput out, Snapshot snapshot) throws IOException {
+      int[] ids = new int[snapshot.entries().size()];
+      for (int i = 0; i < ids.length; i++) {
+         ids[i] = idFor(snapshot.entries().get(i).username());
+      }
+
+      out.writeLong(snapshot.takenAt());
+      out.writeByte((snapshot.complete() ? FLAG_COMPLETE : 0) | (snapshot.fullyRead() ? FLAG_FULLY_READ : 0));
+      writeVarInt(out, NAMES.size() - writtenNames);
+      for (int i = writtenNames; i < NAMES.size(); i++) {
+         out.writeUTF(NAMES.get(i));
+      }
+      writtenNames = NAMES.size();
+      writeVarInt(out, ids.length);
+      int position = 0;
+      for (int i = 0; i < ids.length; i++) {
+         Entry entry = snapshot.entries().get(i);
+         writeVarInt(out, entry.position() - position);
+         position = entry.position();
+         writeVarInt(out, ids[i]);
+         writeVarLong(out, zigZagEncode(entry.balance() - lastBalances[ids[i]]));
+         lastBalances[ids[i]] = entry.balance();
+      }
+   }
+
+   /**
+    * writes the snapshots recorded since the last write: appended while the log has room and
+    * the last write succeeded, otherwise by rewriting it from memory.
+    */
+   private static void writePending() {
+      List<Snapshot> pending;
+      synchronized (LOCK) {
+         pending = new ArrayList<>(PENDING);
+         PENDING.clear();
+      }
+      if (pending.isEmpty() && !needsRewrite) return;
+      Path path = getPath();
+      if (needsRewrite || !Files.exists(path) || loggedSnapshots + pending.size() > MAX_LOGGED_SNAPSHOTS) {
+         compact();
+         return;
+      }
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+              Files.newOutputStream(path, StandardOpenOption.APPEND)))) {
+         for (Snapshot snapshot : pending) {
+            writeSnapshot(out, snapshot);
+            loggedSnapshots++;
+         }
+      } catch (IOException e) {
+         // the encoder already counts records that may not have reached the file
+         needsRewrite = true;
+         LOGGER.error("[lsu-baltop-store] failed to append to baltop history", e);
+      }
+   }
+
+   /**
+    * rewrites the log from the snapshots in memory, dropping older ones and names no longer
+    * referenced. snapshots still pending are left for their own write.
+    */
+   private static void compact() {
+      List<Snapshot> snapshots;
+      synchronized (LOCK) {
+         snapshots = new ArrayList<>(SNAPSHOTS.size());
+         for (Snapshot snapshot : SNAPSHOTS) {
+            // by identity: records compare their whole entry lists
+            if (PENDING.stream().noneMatch(pending -> pending == snapshot)) {
+               snapshots.add(snapshot);
+            }
+         }
+      }
+      resetEncoder();
+      Path path = getPath();
+      Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+      try {
+         Files.createDirectories(path.getParent());
+         try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (Snapshot snapshot : snapshots) {
+               writeSnapshot(out, snapshot);
+            }
+         }
+         Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         loggedSnapshots = snapshots.size();
+         needsRewrite = false;
+      } catch (IOException e) {
+         // the encoder was reset for the new file, so it no longer matches the old one left in place
+         needsRewrite = true;
+         LOGGER.error("[lsu-baltop-store] failed to write baltop history", e);
+      }
+   }
+
+   private static void resetEncoder() {
+      NAME_IDS.clear();
+      NAMES.clear();
+      Arrays.fill(lastBalances, 0L);
+      writtenNames = 0;
+   }
+
+   private static void trimToMax() {
+      if (SNAPSHOTS.size() > MAX_SNAPSHOTS) {
+         SNAPSHOTS.subList(0, SNAPSHOTS.size() - MAX_SNAPSHOTS).clear();
+      }
+   }
+
+   private static int idFor(String name) {
+      Integer id = NAME_IDS.get(name);
+      if (id != null) {
+         return id;
+      }
+      int next = NAMES.size();
+      NAMES.add(name);
+      NAME_IDS.put(name, next);
+      if (next >= lastBalances.length) {
+         lastBalances = Arrays.copyOf(lastBalances, lastBalances.length * 2);
+      }
+      return next;
+   }
+
+   private static void writeVarInt(DataOutput out, int value) throws IOException {
+      writeVarLong(out, value & 0xFFFFFFFFL);
+   }
+
+   private static int readVarInt(DataInput in) throws IOException {
+      return (int) readVarLong(in);
+   }
+
+   private static void writeVarLong(DataOutput out, long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+         out.writeByte((int) (value & 0x7F) | 0x80);
+         value >>>= 7;
+      }
+      out.writeByte((int) value);
+   }
+
+   private static long readVarLong(DataInput in) throws IOException {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+         byte b = in.readByte();
+         value |= (long) (b & 0x7F) << shift;
+         if ((b & 0x80) == 0) {
+            return value;
+         }
+      }
+      throw new IOException("malformed varint");
+   }
+
+   private static long zigZagEncode(long value) {
+      return (value << 1) ^ (value >> 63);
+   }
+
+   private static long zigZagDecode(long value) {
+      return (value >>> 1) ^ -(value & 1);
+   }
+
+   private static Path getPath() {
+      return FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+   }
+
+   private static ExecutorService createExecutor() {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+         Thread thread = new Thread(runnable, "lsu-baltop-store");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+   }
+}
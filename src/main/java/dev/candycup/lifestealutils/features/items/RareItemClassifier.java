@@ -0,0 +1,53 @@
+package dev.candycup.lifestealutils.features.items;
+
+import dev.candycup.lifestealutils.api.ItemTraits;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * decides whether a stack counts as "rare" for {@link RareItemHighlight}:
+ * any netherite gear or material, or anything carrying a custom enchant or artifact tag.
+ * <p>
+ * performance: called for every item entity on every render state extraction.
+ * the item check is an identity set lookup and the custom data verdict comes from
+ * the {@link ItemTraits} cache, so nothing is encoded or copied per call.
+ */
+public final class RareItemClassifier {
+   private static final Set<Item> RARE_ITEMS = Collections.newSetFromMap(new IdentityHashMap<>());
+
+   static {
+      Collections.addAll(RARE_ITEMS,
+              Items.NETHERITE_HELMET,
+              Items.NETHERITE_CHESTPLATE,
+              Items.NETHERITE_LEGGINGS,
+              Items.NETHERITE_BOOTS,
+              Items.NETHERITE_SWORD,
+              Items.NETHERITE_AXE,
+              Items.NETHERITE_PICKAXE,
+              Items.NETHERITE_SHOVEL,
+              Items.NETHERITE_HOE,
+              Items.ANCIENT_DEBRIS,
+              Items.NETHERITE_SCRAP,
+              Items.NETHERITE_BLOCK,
+              Items.NETHERITE_INGOT
+      );
+   }
+
+   private RareItemClassifier() {
+   }
+
+   public static boolean isRare(ItemStack stack) {
+      if (stack == null || stack.isEmpty()) {
+         return false;
+      }
+      if (RARE_ITEMS.contains(stack.getItem())) {
+         return true;
+      }
+      return ItemTraits.of(stack).isRareData();
+   }
+}
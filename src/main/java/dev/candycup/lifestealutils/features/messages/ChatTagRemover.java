@@ -1,13 +1,10 @@
 package dev.candycup.lifestealutils.features.messages;
 
 import dev.candycup.lifestealutils.Config;
+import dev.candycup.lifestealutils.api.ChatMessageAnalysis;
 import dev.candycup.lifestealutils.event.EventPriority;
 import dev.candycup.lifestealutils.event.events.ChatMessageReceivedEvent;
 import dev.candycup.lifestealutils.event.listener.ChatEventListener;
-import dev.candycup.lifestealutils.interapi.MessagingUtils;
-import net.kyori.adventure.platform.modcommon.MinecraftClientAudiences;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.minecraft.network.chat.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,7 +14,6 @@ import org.slf4j.LoggerFactory;
  */
 public class ChatTagRemover implements ChatEventListener {
    private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/chattag");
-   private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
 
    @Override
    public boolean isEnabled() {
@@ -31,16 +27,16 @@ public class ChatTagRemover implements ChatEventListener {
 
    @Override
    public void onChatMessageReceived(ChatMessageReceivedEvent event) {
-      Component original = event.getModifiedMessage();
-      String serialized = MINI_MESSAGE.serialize(
-              MinecraftClientAudiences.of().asAdventure(original)
-      );
+      // chat tags only appear in player chat, skip serializing everything else
+      if (!event.getAnalysis().is(ChatMessageAnalysis.Kind.PLAYER_CHAT)) {
+         return;
+      }
 
+      String serialized = event.getModifiedMiniMessage();
       String filtered = removeChatTag(serialized);
 
       if (!filtered.equals(serialized)) {
-         Component modified = MessagingUtils.miniMessage(filtered);
-         event.setModifiedMessage(modified);
+         event.setModifiedMiniMessage(filtered);
          LOGGER.debug("[lsu-chattag] removed chat tag from message");
       }
    }
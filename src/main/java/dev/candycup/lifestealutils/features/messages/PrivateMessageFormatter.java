@@ -1,6 +1,7 @@
 package dev.candycup.lifestealutils.features.messages;
 
 import dev.candycup.lifestealutils.Config;
+import dev.candycup.lifestealutils.api.ChatMessageAnalysis;
 import dev.candycup.lifestealutils.event.EventPriority;
 import dev.candycup.lifestealutils.event.events.ChatMessageReceivedEvent;
 import dev.candycup.lifestealutils.event.listener.ChatEventListener;
@@ -9,19 +10,12 @@ import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * formats private messages with custom styling.
  * replaces "(MSG From/To Username) message" with a customizable format.
  */
 public class PrivateMessageFormatter implements ChatEventListener {
    private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/pm");
-   private static final Pattern PRIVATE_MESSAGE_PATTERN = Pattern.compile(
-           "^\\(MSG\\s+(From|To)\\s+([^)]+)\\)\\s+(.*)$",
-           Pattern.CASE_INSENSITIVE
-   );
    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
 
    @Override
@@ -36,16 +30,14 @@ public class PrivateMessageFormatter implements ChatEventListener {
 
    @Override
    public void onChatMessageReceived(ChatMessageReceivedEvent event) {
-      String rawMessage = event.getMessage().getString();
-      Matcher matcher = PRIVATE_MESSAGE_PATTERN.matcher(rawMessage);
-
-      if (!matcher.find()) {
+      ChatMessageAnalysis analysis = event.getAnalysis();
+      if (!analysis.is(ChatMessageAnalysis.Kind.PRIVATE_MESSAGE)) {
          return;
       }
 
-      String direction = capitalizeFirst(matcher.group(1));
-      String sender = MINI_MESSAGE.escapeTags(matcher.group(2));
-      String message = MINI_MESSAGE.escapeTags(matcher.group(3));
+      String direction = capitalizeFirst(analysis.direction());
+      String sender = MINI_MESSAGE.escapeTags(analysis.sender());
+      String message = MINI_MESSAGE.escapeTags(analysis.body());
 
       String format = Config.pmFormat != null && !Config.pmFormat.isBlank()
               ? Config.pmFormat
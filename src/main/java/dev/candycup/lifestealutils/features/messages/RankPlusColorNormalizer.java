@@ -4,10 +4,6 @@ import dev.candycup.lifestealutils.Config;
 import dev.candycup.lifestealutils.event.EventPriority;
 import dev.candycup.lifestealutils.event.events.ChatMessageReceivedEvent;
 import dev.candycup.lifestealutils.event.listener.ChatEventListener;
-import dev.candycup.lifestealutils.interapi.MessagingUtils;
-import net.kyori.adventure.platform.modcommon.MinecraftClientAudiences;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.minecraft.network.chat.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,7 +14,6 @@ import org.slf4j.LoggerFactory;
  */
 public class RankPlusColorNormalizer implements ChatEventListener {
    private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/rankplus");
-   private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
 
    @Override
    public boolean isEnabled() {
@@ -32,16 +27,13 @@ public class RankPlusColorNormalizer implements ChatEventListener {
 
    @Override
    public void onChatMessageReceived(ChatMessageReceivedEvent event) {
-      Component original = event.getModifiedMessage();
-      String serialized = MINI_MESSAGE.serialize(
-              MinecraftClientAudiences.of().asAdventure(original)
-      );
-
-      String filtered = normalizePlusColor(serialized);
+      String serialized = event.getModifiedMiniMessage();
+      // nothing to merge without a plus; the whitespace pass still applies
+      boolean hasPlus = event.getAnalysis().plainText().indexOf('+') >= 0;
+      String filtered = normalizePlusColor(serialized, hasPlus);
 
       if (!filtered.equals(serialized)) {
-         Component modified = MessagingUtils.miniMessage(filtered);
-         event.setModifiedMessage(modified);
+         event.setModifiedMiniMessage(filtered);
          LOGGER.debug("[lsu-rankplus] normalized plus color");
       }
    }
@@ -49,13 +41,16 @@ public class RankPlusColorNormalizer implements ChatEventListener {
    /**
     * merge the colored plus into the rank color.
     */
-   private String normalizePlusColor(String message) {
+   private String normalizePlusColor(String message, boolean hasPlus) {
       if (message == null || message.isEmpty()) {
          return message;
       }
 
-      String pattern = "(<bold>\\s*<([#A-Za-z0-9_]+)>)([^<>]+)(</[A-Za-z0-9_#]+>\\s*</bold>)(\\s*)<[^>]*>\\+(?:</[^>]*>)?";
-      String result = message.replaceAll(pattern, "$1$3+$4");
+      String result = message;
+      if (hasPlus) {
+         String pattern = "(<bold>\\s*<([#A-Za-z0-9_]+)>)([^<>]+)(</[A-Za-z0-9_#]+>\\s*</bold>)(\\s*)<[^>]*>\\+(?:</[^>]*>)?";
+         result = result.replaceAll(pattern, "$1$3+$4");
+      }
 
       // normalize whitespace
       result = result.replaceAll("(<dark_gray>\\]</dark_gray>)\\s+", "$1 ");
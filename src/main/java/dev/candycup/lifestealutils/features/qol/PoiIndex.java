@@ -0,0 +1,175 @@
+package dev.candycup.lifestealutils.features.qol;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * immutable lookup structure over one POI list.
+ * <p>
+ * POIs are keyed by id, and bucketed per dimension string into a uniform grid so the closest
+ * POI is found by searching outward from the player's cell instead of measuring every POI.
+ * which dimension strings apply to a level is worked out once per level key and cached, so
+ * lookups never format the key.
+ */
+public final class PoiIndex {
+   /**
+    * grid cell size in blocks
+    */
+   private static final int CELL_SIZE = 256;
+
+   private final List<PoiRepository.Poi> pois;
+   private final Map<String, PoiRepository.Poi> byId;
+   // keyed by the POI's dimension string; POIs without one live under null and match every level
+   private final Map<String, Grid> grids;
+   private final Map<ResourceKey<Level>, List<Grid>> gridsByLevel = new ConcurrentHashMap<>();
+
+   public PoiIndex(List<PoiRepository.Poi> pois) {
+      this.pois = Collections.unmodifiableList(new ArrayList<>(pois));
+      Map<String, PoiRepository.Poi> ids = new HashMap<>(pois.size() * 2);
+      Map<String, Grid> byDimension = new LinkedHashMap<>();
+      for (PoiRepository.Poi poi : pois) {
+         ids.putIfAbsent(poi.id(), poi);
+         byDimension.computeIfAbsent(poi.dimension(), key -> new Grid()).add(poi);
+      }
+      this.byId = ids;
+      this.grids = byDimension;
+   }
+
+   public List<PoiRepository.Poi> all() {
+      return pois;
+   }
+
+   public int size() {
+      return pois.size();
+   }
+
+   /**
+    * @return the POI with this id, or null
+    */
+   public PoiRepository.Poi byId(String id) {
+      return id == null ? null : byId.get(id);
+   }
+
+   /**
+    * finds the POI closest to a position, horizontally, among POIs in the given level or
+    * without a dimension.
+    *
+    * @return the closest POI, or null if none apply
+    */
+   public PoiRepository.Poi closest(ResourceKey<Level> dimension, double x, double z) {
+      Nearest nearest = new Nearest();
+      for (Grid grid : gridsFor(dimension)) {
+         grid.search(x, z, nearest);
+      }
+      return nearest.poi;
+   }
+
+   private List<Grid> gridsFor(ResourceKey<Level> dimension) {
+      if (dimension == null) {
+         return List.copyOf(grids.values());
+      }
+      return gridsByLevel.computeIfAbsent(dimension, key -> {
+         // same heuristic as before: an exact match or a substring of the registry key
+         String keyString = key.toString();
+         List<Grid> matching = new ArrayList<>();
+         for (Map.Entry<String, Grid> entry : grids.entrySet()) {
+            String poiDimension = entry.getKey();
+            if (poiDimension == null || poiDimension.equals(keyString) || keyString.contains(poiDimension)) {
+               matching.add(entry.getValue());
+            }
+         }
+         return List.copyOf(matching);
+      });
+   }
+
+   private static final class Nearest {
+      private PoiRepository.Poi poi;
+      private double distanceSquared = Double.MAX_VALUE;
+   }
+
+   private static final class Grid {
+      private final Map<Long, List<PoiRepository.Poi>> cells = new HashMap<>();
+      private final List<PoiRepository.Poi> all = new ArrayList<>();
+      private int minCellX = Integer.MAX_VALUE;
+      private int minCellZ = Integer.MAX_VALUE;
+      private int maxCellX = Integer.MIN_VALUE;
+      private int maxCellZ = Integer.MIN_VALUE;
+
+      private void add(PoiRepository.Poi poi) {
+         int cellX = cell(poi.x());
+         int cellZ = cell(poi.z());
+         cells.computeIfAbsent(key(cellX, cellZ), key -> new ArrayList<>(2)).add(poi);
+         all.add(poi);
+         minCellX = Math.min(minCellX, cellX);
+         minCellZ = Math.min(minCellZ, cellZ);
+         maxCellX = Math.max(maxCellX, cellX);
+         maxCellZ = Math.max(maxCellZ, cellZ);
+      }
+
+      /**
+       * visits rings of cells around the position until no unvisited cell can hold anything
+       * closer than the best match so far. far from every POI the rings are mostly empty, so
+       * once they would cost more lookups than there are POIs it measures them all instead.
+       */
+      private void search(double x, double z, Nearest nearest) {
+         int centerX = cell(x);
+         int centerZ = cell(z);
+         // the ring that reaches the far corner of the occupied cells
+         int lastRing = Math.max(
+                 Math.max(Math.abs(centerX - minCellX), Math.abs(centerX - maxCellX)),
+                 Math.max(Math.abs(centerZ - minCellZ), Math.abs(centerZ - maxCellZ)));
+
+         int lookups = 0;
+         for (int ring = 0; ring <= lastRing; ring++) {
+            // anything in this ring or further out is at least (ring - 1) whole cells away
+            double reach = (double) (ring - 1) * CELL_SIZE;
+            if (ring > 1 && reach * reach > nearest.distanceSquared) {
+               return;
+            }
+            lookups += ring == 0 ? 1 : 8 * ring;
+            if (lookups > all.size()) {
+               visit(all, x, z, nearest);
+               return;
+            }
+            for (int cellZ = centerZ - ring; cellZ <= centerZ + ring; cellZ++) {
+               boolean edgeRow = cellZ == centerZ - ring || cellZ == centerZ + ring;
+               int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+               for (int cellX = centerX - ring; cellX <= centerX + ring; cellX += step) {
+                  visit(cells.get(key(cellX, cellZ)), x, z, nearest);
+               }
+            }
+         }
+      }
+
+      private static void visit(List<PoiRepository.Poi> cell, double x, double z, Nearest nearest) {
+         if (cell == null) return;
+         for (int i = 0; i < cell.size(); i++) {
+            PoiRepository.Poi poi = cell.get(i);
+            double dx = poi.x() - x;
+            double dz = poi.z() - z;
+            double distanceSquared = dx * dx + dz * dz;
+            if (distanceSquared < nearest.distanceSquared) {
+               nearest.distanceSquared = distanceSquared;
+               nearest.poi = poi;
+            }
+         }
+      }
+
+      private static int cell(double coordinate) {
+         return Math.floorDiv(Mth.floor(coordinate), CELL_SIZE);
+      }
+
+      private static long key(int cellX, int cellZ) {
+         return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+      }
+   }
+}
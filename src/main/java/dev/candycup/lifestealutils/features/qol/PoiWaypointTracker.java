@@ -1,7 +1,7 @@
 package dev.candycup.lifestealutils.features.qol;
 
 import dev.candycup.lifestealutils.Config;
-import dev.candycup.lifestealutils.api.LifestealTablistAPI;
+import dev.candycup.lifestealutils.api.LifestealContext;
 import dev.candycup.lifestealutils.event.EventPriority;
 import dev.candycup.lifestealutils.event.events.ClientTickEvent;
 import dev.candycup.lifestealutils.event.events.ServerChangeEvent;
@@ -11,11 +11,11 @@ import dev.candycup.lifestealutils.hud.HudElementDefinition;
 import dev.candycup.lifestealutils.hud.HudPosition;
 import net.minecraft.client.Minecraft;
 import net.minecraft.resources.Identifier;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Optional;
 
 public final class PoiWaypointTracker implements TickEventListener, ServerEventListener {
    private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/poi");
@@ -26,19 +26,25 @@ public final class PoiWaypointTracker implements TickEventListener, ServerEventL
    private static final float DEFAULT_TEXT_Y = 0.974F;
    private static final int UNKNOWN_DISTANCE = -1;
    private static final String INFINITY_SYMBOL = "∞";
-   private static final String SHARD_KEYWORD_NETHER = "nether";
-   private static final String SHARD_KEYWORD_HUB = "hub";
-   private static final String SHARD_KEYWORD_SPAWN = "spawn";
-   private static final String POI_DIMENSION_NETHER = "the_nether";
+   /**
+    * how far the player moves before the closest POI is looked up again
+    */
+   private static final double RESELECT_DISTANCE = 8.0;
 
-   private final List<PoiRepository.Poi> pois;
+   private volatile PoiIndex pois;
    private final HudElementDefinition hudDefinition;
 
    private PoiRepository.Poi currentTarget = null;
 
+   // inputs of the last closest-POI lookup, to skip it while nothing relevant has changed
+   private PoiIndex lastIndex;
+   private ResourceKey<Level> lastDimension;
+   private double lastX;
+   private double lastZ;
+
    public PoiWaypointTracker() {
       Config.ensurePoiWaypointFormat(DEFAULT_FORMAT);
-      this.pois = PoiRepository.loadPois();
+      this.pois = new PoiIndex(PoiRepository.loadPois());
 
       this.hudDefinition = new HudElementDefinition(
               Identifier.fromNamespaceAndPath("lifestealutils", CONFIG_ID + "_text"),
@@ -50,6 +56,18 @@ public final class PoiWaypointTracker implements TickEventListener, ServerEventL
       LOGGER.info("[lsu-poi] initialized with {} POIs", pois.size());
    }
 
+   /**
+    * reloads the POI list after the feature flag payload changed.
+    */
+   public void reloadPois() {
+      PoiIndex index = new PoiIndex(PoiRepository.loadPois());
+      this.pois = index;
+      PoiRepository.Poi target = this.currentTarget;
+      if (target != null && index.byId(target.id()) == null) {
+         this.currentTarget = null;
+      }
+   }
+
    public HudElementDefinition getHudDefinition() {
       return hudDefinition;
    }
@@ -68,7 +86,7 @@ public final class PoiWaypointTracker implements TickEventListener, ServerEventL
    public void onClientTick(ClientTickEvent event) {
       if (!isEnabled()) return;
       if (isIndicatorsSuppressedForShard()) {
-         currentTarget = null;
+         clearTarget();
          return;
       }
       Minecraft client = Minecraft.getInstance();
@@ -76,60 +94,47 @@ public final class PoiWaypointTracker implements TickEventListener, ServerEventL
 
       // choose target: configured id > closest if allowed > none
       String configuredId = Config.getPoiTrackedId();
+      PoiIndex index = this.pois;
       if (configuredId != null && !configuredId.isBlank()) {
-         Optional<PoiRepository.Poi> match = pois.stream()
-                 .filter(p -> p.id().equals(configuredId))
-                 .findFirst();
-         currentTarget = match.orElse(null);
+         lastIndex = null;
+         currentTarget = index.byId(configuredId);
          return;
       }
 
       if (!Config.isPoiAlwaysShowClosest()) {
          // no configured target and not showing closest
-         currentTarget = null;
+         clearTarget();
          return;
       }
 
-      // pick closest POI in the same dimension (or POIs without dimension set)
-      String currentDimension = null;
-      try {
-         if (client.level != null && client.level.dimension() != null) {
-            // registry key may not expose a direct location method across mappings; fall back to toString()
-            // ^ this was causing some weird behavior in testing. TODO: dont make this hacky
-            currentDimension = client.level.dimension().toString();
-         }
-      } catch (Exception ignore) {
-      }
-
+      // pick closest POI in the same dimension (or POIs without dimension set), but only once
+      // the player has moved far enough for the answer to change
+      ResourceKey<Level> dimension = client.level.dimension();
       double px = client.player.getX();
       double pz = client.player.getZ();
-
-      PoiRepository.Poi best = null;
-      double bestDist = Double.MAX_VALUE;
-      for (PoiRepository.Poi poi : pois) {
-         if (poi.dimension() != null && currentDimension != null) {
-            // compare heuristically: either exact match or contained in registry key string
-            if (!poi.dimension().equals(currentDimension) && !currentDimension.contains(poi.dimension())) {
-               continue;
-            }
-         }
-
-         double dx = poi.x() - px;
-         double dz = poi.z() - pz;
-         double dist = Math.sqrt(dx * dx + dz * dz);
-         if (dist < bestDist) {
-            bestDist = dist;
-            best = poi;
-         }
+      double dx = px - lastX;
+      double dz = pz - lastZ;
+      if (index == lastIndex && dimension == lastDimension
+              && dx * dx + dz * dz < RESELECT_DISTANCE * RESELECT_DISTANCE) {
+         return;
       }
+      lastIndex = index;
+      lastDimension = dimension;
+      lastX = px;
+      lastZ = pz;
 
-      this.currentTarget = best;
+      this.currentTarget = index.closest(dimension, px, pz);
    }
 
    @Override
    public void onServerChange(ServerChangeEvent event) {
       // clear selection when server changes
-      this.currentTarget = null;
+      clearTarget();
+   }
+
+   private void clearTarget() {
+      currentTarget = null;
+      lastIndex = null;
    }
 
    private String getDisplayText() {
@@ -166,12 +171,7 @@ public final class PoiWaypointTracker implements TickEventListener, ServerEventL
     * @return true when on hub/spawn shards
     */
    public boolean isIndicatorsSuppressedForShard() {
-      String shardName = LifestealTablistAPI.getCurrentShard();
-      if (shardName == null || shardName.isBlank()) {
-         return false;
-      }
-      String shardLower = shardName.toLowerCase();
-      return shardLower.contains(SHARD_KEYWORD_HUB) || shardLower.contains(SHARD_KEYWORD_SPAWN);
+      return LifestealContext.current().isPoiSuppressed();
    }
 
    /**
@@ -198,26 +198,11 @@ public final class PoiWaypointTracker implements TickEventListener, ServerEventL
     * @return true when dimensions match or no dimension is set
     */
    private boolean isSameDimension(PoiRepository.Poi target) {
-      if (target.dimension() == null || target.dimension().isBlank()) {
+      LifestealContext.Dimension poiDimension = LifestealContext.Dimension.ofName(target.dimension());
+      if (poiDimension == null) {
          return true;
       }
-
-      boolean poiNether = target.dimension().contains(POI_DIMENSION_NETHER);
-      boolean shardNether = isShardNether();
-      return poiNether == shardNether;
-   }
-
-   /**
-    * Checks if the current shard is a nether shard.
-    *
-    * @return true if shard name contains "nether"
-    */
-   private boolean isShardNether() {
-      String shardName = LifestealTablistAPI.getCurrentShard();
-      if (shardName == null || shardName.isBlank()) {
-         return false;
-      }
-      return shardName.toLowerCase().contains(SHARD_KEYWORD_NETHER);
+      return (poiDimension == LifestealContext.Dimension.NETHER) == LifestealContext.current().isNetherShard();
    }
 
    /**
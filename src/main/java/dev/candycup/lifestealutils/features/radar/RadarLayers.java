@@ -0,0 +1,127 @@
+package dev.candycup.lifestealutils.features.radar;
+
+import dev.candycup.lifestealutils.api.LifestealContext;
+import dev.candycup.lifestealutils.event.EventPriority;
+import dev.candycup.lifestealutils.event.events.ClientTickEvent;
+import dev.candycup.lifestealutils.event.events.ServerChangeEvent;
+import dev.candycup.lifestealutils.event.listener.ServerEventListener;
+import dev.candycup.lifestealutils.event.listener.TickEventListener;
+import dev.candycup.lifestealutils.features.qol.PoiRepository;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.SectionPos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * data layers drawn under the radar, one {@link TilePyramid} per dimension and layer.
+ * <p>
+ * the client thread only notices changes (entering a new chunk, a new POI list) and hands
+ * them to a single background thread that folds them into the pyramids. visited chunks are
+ * added one by one as they happen; the POI layer is rebuilt whole and swapped in.
+ */
+public final class RadarLayers implements TickEventListener, ServerEventListener {
+   private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/radar");
+   private static final ExecutorService BUILDER = createBuilder();
+
+   private static RadarLayers instance;
+
+   private final Map<LifestealContext.Dimension, TilePyramid> visitedChunks = new ConcurrentHashMap<>();
+   private volatile Map<LifestealContext.Dimension, TilePyramid> pois = Map.of();
+
+   private LifestealContext.Dimension lastDimension;
+   private long lastChunk = Long.MIN_VALUE;
+
+   private RadarLayers() {
+   }
+
+   public static RadarLayers getInstance() {
+      if (instance == null) {
+         instance = new RadarLayers();
+      }
+      return instance;
+   }
+
+   /**
+    * @return chunks the player has stood in this session, or null if none in that dimension
+    */
+   public TilePyramid visitedChunks(LifestealContext.Dimension dimension) {
+      return visitedChunks.get(dimension);
+   }
+
+   /**
+    * @return the POI layer for a dimension, or null if it has none
+    */
+   public TilePyramid pois(LifestealContext.Dimension dimension) {
+      return pois.get(dimension);
+   }
+
+   /**
+    * rebuilds the POI layer off-thread from the current feature flag payload.
+    */
+   public void reloadPois() {
+      BUILDER.execute(() -> {
+         List<PoiRepository.Poi> loaded = PoiRepository.loadPois();
+         Map<LifestealContext.Dimension, TilePyramid> rebuilt = new HashMap<>();
+         for (PoiRepository.Poi poi : loaded) {
+            LifestealContext.Dimension dimension = LifestealContext.Dimension.ofName(poi.dimension());
+            // POIs without a dimension are drawn on the overworld
+            rebuilt.computeIfAbsent(dimension != null ? dimension : LifestealContext.Dimension.OVERWORLD, key -> new TilePyramid()).add(poi.x(), poi.z(), poi.name());
+         }
+         pois = Map.copyOf(rebuilt);
+      });
+   }
+
+   @Override
+   public boolean isEnabled() {
+      return true;
+   }
+
+   @Override
+   public EventPriority getPriority() {
+      return EventPriority.NORMAL;
+   }
+
+   @Override
+   public void onClientTick(ClientTickEvent event) {
+      Minecraft client = Minecraft.getInstance();
+      if (client.player == null || client.level == null) return;
+
+      LifestealContext.Dimension dimension = LifestealContext.current().dimension();
+      long chunk = client.player.chunkPosition().toLong();
+      if (chunk == lastChunk && dimension == lastDimension) return;
+      lastChunk = chunk;
+      lastDimension = dimension;
+
+      double x = SectionPos.sectionToBlockCoord(client.player.chunkPosition().x) + 8;
+      double z = SectionPos.sectionToBlockCoord(client.player.chunkPosition().z) + 8;
+      BUILDER.execute(() -> visitedChunks.computeIfAbsent(dimension, key -> new TilePyramid()).addIfTileEmpty(x, z, null));
+   }
+
+   @Override
+   public void onServerChange(ServerChangeEvent event) {
+      // visited chunks belong to one server's world
+      lastChunk = Long.MIN_VALUE;
+      lastDimension = null;
+      BUILDER.execute(visitedChunks::clear);
+   }
+
+   private static ExecutorService createBuilder() {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+         Thread thread = new Thread(runnable, "lsu-radar-tiles");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+      executor.setRejectedExecutionHandler((runnable, rejected) -> LOGGER.warn("[lsu-radar] dropped a radar layer update"));
+      return executor;
+   }
+}
@@ -0,0 +1,136 @@
+package dev.candycup.lifestealutils.features.radar;
+
+import net.minecraft.util.Mth;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * point data aggregated into square tiles at every zoom level.
+ * <p>
+ * level 0 tiles are one chunk wide and each level up doubles the tile size, so a point is
+ * counted once per level. a radar frame picks the level whose tiles are big enough on screen
+ * and only touches the tiles in view, however many points have been added.
+ * <p>
+ * writes come from a single background thread; the radar reads from the client thread
+ * while they happen.
+ */
+public final class TilePyramid {
+   /**
+    * level 0 tile size in blocks
+    */
+   public static final int BASE_TILE_SIZE = 16;
+   /**
+    * the top level's tiles are 32768 blocks wide, so the whole world fits in a handful of them
+    */
+   public static final int LEVELS = 12;
+
+   @SuppressWarnings("unchecked")
+   private final Map<Long, Tile>[] levels = new Map[LEVELS];
+
+   public TilePyramid() {
+      for (int level = 0; level < LEVELS; level++) {
+         levels[level] = new ConcurrentHashMap<>();
+      }
+   }
+
+   /**
+    * an aggregated tile.
+    *
+    * @param count  points inside the tile
+    * @param x      x of the first point added, used to place a marker
+    * @param z      z of the first point added
+    * @param label  label of the first point added, may be null
+    */
+   public record Tile(int tileX, int tileZ, int count, double x, double z, String label) {
+   }
+
+   public static int tileSize(int level) {
+      return BASE_TILE_SIZE << level;
+   }
+
+   /**
+    * @return the finest level whose tiles are at least {@code minTilePixels} wide at this scale
+    */
+   public static int levelFor(double pixelsPerBlock, double minTilePixels) {
+      for (int level = 0; level < LEVELS; level++) {
+         if (tileSize(level) * pixelsPerBlock >= minTilePixels) {
+            return level;
+         }
+      }
+      return LEVELS - 1;
+   }
+
+   /**
+    * adds a point to every level.
+    */
+   public void add(double x, double z, String label) {
+      int blockX = Mth.floor(x);
+      int blockZ = Mth.floor(z);
+      for (int level = 0; level < LEVELS; level++) {
+         int size = tileSize(level);
+         int tileX = Math.floorDiv(blockX, size);
+         int tileZ = Math.floorDiv(blockZ, size);
+         levels[level].compute(key(tileX, tileZ), (key, tile) -> tile == null
+                 ? new Tile(tileX, tileZ, 1, x, z, label)
+                 : new Tile(tileX, tileZ, tile.count() + 1, tile.x(), tile.z(), tile.label()));
+      }
+   }
+
+   /**
+    * adds a point unless its level 0 tile already holds one, e.g. to count each chunk once.
+    *
+    * @return true if the point was added
+    */
+   public boolean addIfTileEmpty(double x, double z, String label) {
+      int tileX = Math.floorDiv(Mth.floor(x), BASE_TILE_SIZE);
+      int tileZ = Math.floorDiv(Mth.floor(z), BASE_TILE_SIZE);
+      if (levels[0].containsKey(key(tileX, tileZ))) {
+         return false;
+      }
+      add(x, z, label);
+      return true;
+   }
+
+   /**
+    * visits the non-empty tiles of a level overlapping a block-space rectangle. costs the
+    * smaller of the tiles in view and the tiles stored at that level.
+    */
+   public void forEachTile(int level, double minX, double minZ, double maxX, double maxZ, Consumer<Tile> visitor) {
+      Map<Long, Tile> tiles = levels[level];
+      if (tiles.isEmpty()) return;
+
+      int size = tileSize(level);
+      int minTileX = Math.floorDiv(Mth.floor(minX), size);
+      int minTileZ = Math.floorDiv(Mth.floor(minZ), size);
+      int maxTileX = Math.floorDiv(Mth.floor(maxX), size);
+      int maxTileZ = Math.floorDiv(Mth.floor(maxZ), size);
+      long inView = (long) (maxTileX - minTileX + 1) * (maxTileZ - minTileZ + 1);
+
+      if (tiles.size() <= inView) {
+         for (Tile tile : tiles.values()) {
+            if (tile.tileX() >= minTileX && tile.tileX() <= maxTileX && tile.tileZ() >= minTileZ && tile.tileZ() <= maxTileZ) {
+               visitor.accept(tile);
+            }
+         }
+         return;
+      }
+      for (int tileZ = minTileZ; tileZ <= maxTileZ; tileZ++) {
+         for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+            Tile tile = tiles.get(key(tileX, tileZ));
+            if (tile != null) {
+               visitor.accept(tile);
+            }
+         }
+      }
+   }
+
+   public boolean isEmpty() {
+      return levels[0].isEmpty();
+   }
+
+   private static long key(int tileX, int tileZ) {
+      return ((long) tileX << 32) | (tileZ & 0xFFFFFFFFL);
+   }
+}
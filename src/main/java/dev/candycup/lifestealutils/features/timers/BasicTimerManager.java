@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -24,15 +25,32 @@ public final class BasicTimerManager implements ChatEventListener, TickEventList
    private final Map<String, BasicTimerDefinition> definitions = new LinkedHashMap<>();
    private final Map<String, TimerState> states = new LinkedHashMap<>();
    private final Map<String, HudElementDefinition> hudDefinitions = new LinkedHashMap<>();
+   // timer ids indexed by the trigger index reported by the matcher
+   private final List<String> triggerTimerIds = new ArrayList<>();
+   private TriggerMatcher triggerMatcher = new TriggerMatcher(List.of());
 
    public BasicTimerManager(List<BasicTimerDefinition> definitions) {
       configure(definitions);
    }
 
+   /**
+    * replaces the timer set, e.g. after a feature flag refresh. timers whose id survives
+    * keep their running state.
+    */
+   public void reconfigure(List<BasicTimerDefinition> definitions) {
+      Map<String, TimerState> previous = new LinkedHashMap<>(this.states);
+      configure(definitions);
+      for (Map.Entry<String, TimerState> entry : previous.entrySet()) {
+         this.states.replace(entry.getKey(), entry.getValue());
+      }
+   }
+
    private void configure(List<BasicTimerDefinition> definitions) {
       this.definitions.clear();
       this.states.clear();
       this.hudDefinitions.clear();
+      this.triggerTimerIds.clear();
+      List<String> triggers = new ArrayList<>();
 
       float baseY = 0.15F;
       float stepY = 0.035F;
@@ -52,8 +70,13 @@ public final class BasicTimerManager implements ChatEventListener, TickEventList
                  HudPosition.clamp(0.5F, baseY + (stepY * index))
          );
          this.hudDefinitions.put(id, hudDefinition);
+         if (definition.chatTrigger() != null) {
+            triggers.add(definition.chatTrigger());
+            this.triggerTimerIds.add(id);
+         }
          index++;
       }
+      this.triggerMatcher = new TriggerMatcher(triggers);
 
       LOGGER.info("[lsu-timers] configured {} basic timers", this.definitions.size());
    }
@@ -77,20 +100,20 @@ public final class BasicTimerManager implements ChatEventListener, TickEventList
 
    @Override
    public void onChatMessageReceived(ChatMessageReceivedEvent event) {
-      String message = event.getMessage().getString();
+      String message = event.getAnalysis().plainText();
       if (message.isBlank()) {
          return;
       }
 
-      for (Map.Entry<String, BasicTimerDefinition> entry : definitions.entrySet()) {
-         BasicTimerDefinition definition = entry.getValue();
-         if (definition.chatTrigger() != null && message.contains(definition.chatTrigger())) {
-            if (!Config.isBasicTimerEnabled(entry.getKey())) {
-               continue;
-            }
-            start(entry.getKey(), definition.durationSeconds());
-            LOGGER.debug("[lsu-timers] started timer '{}' from chat trigger", definition.name());
+      BitSet matched = triggerMatcher.match(message);
+      for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+         String id = triggerTimerIds.get(i);
+         if (!Config.isBasicTimerEnabled(id)) {
+            continue;
          }
+         BasicTimerDefinition definition = definitions.get(id);
+         start(id, definition.durationSeconds());
+         LOGGER.debug("[lsu-timers] started timer '{}' from chat trigger", definition.name());
       }
    }
 
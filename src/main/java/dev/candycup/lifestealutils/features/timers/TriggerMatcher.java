@@ -0,0 +1,140 @@
+package dev.candycup.lifestealutils.features.timers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton over a fixed set of literal chat triggers.
+ * <p>
+ * the automaton is built once per trigger set, after which every message is scanned in a
+ * single pass regardless of how many triggers exist. matching is case-sensitive and
+ * behaves like {@link String#contains(CharSequence)} for each trigger.
+ */
+final class TriggerMatcher {
+   private static final int[] NO_OUTPUT = new int[0];
+
+   private final int patternCount;
+   // per-node transitions, keys sorted for binary search
+   private final char[][] keys;
+   private final int[][] targets;
+   private final int[] fail;
+   // pattern indices that end at each node, including those reachable through fail links
+   private final int[][] output;
+
+   /**
+    * builds the automaton.
+    *
+    * @param patterns the triggers; a pattern's index in this list is what {@link #match} reports
+    */
+   TriggerMatcher(List<String> patterns) {
+      this.patternCount = patterns.size();
+
+      List<TreeMap<Character, Integer>> children = new ArrayList<>();
+      List<List<Integer>> outputs = new ArrayList<>();
+      children.add(new TreeMap<>());
+      outputs.add(new ArrayList<>());
+
+      for (int i = 0; i < patterns.size(); i++) {
+         String pattern = patterns.get(i);
+         int node = 0;
+         for (int c = 0; c < pattern.length(); c++) {
+            Integer next = children.get(node).get(pattern.charAt(c));
+            if (next == null) {
+               next = children.size();
+               children.get(node).put(pattern.charAt(c), next);
+               children.add(new TreeMap<>());
+               outputs.add(new ArrayList<>());
+            }
+            node = next;
+         }
+         outputs.get(node).add(i);
+      }
+
+      int size = children.size();
+      this.keys = new char[size][];
+      this.targets = new int[size][];
+      this.fail = new int[size];
+      this.output = new int[size][];
+
+      for (int node = 0; node < size; node++) {
+         TreeMap<Character, Integer> map = children.get(node);
+         keys[node] = new char[map.size()];
+         targets[node] = new int[map.size()];
+         int j = 0;
+         for (Map.Entry<Character, Integer> entry : map.entrySet()) {
+            keys[node][j] = entry.getKey();
+            targets[node][j] = entry.getValue();
+            j++;
+         }
+      }
+
+      // breadth-first so a node's fail target is always finished before the node itself
+      ArrayDeque<Integer> queue = new ArrayDeque<>();
+      output[0] = toArray(outputs.get(0), NO_OUTPUT);
+      for (int child : targets[0]) {
+         fail[child] = 0;
+         queue.add(child);
+      }
+      while (!queue.isEmpty()) {
+         int node = queue.poll();
+         output[node] = toArray(outputs.get(node), output[fail[node]]);
+         for (int j = 0; j < keys[node].length; j++) {
+            char c = keys[node][j];
+            int child = targets[node][j];
+            int state = fail[node];
+            int next = step(state, c);
+            while (next < 0 && state != 0) {
+               state = fail[state];
+               next = step(state, c);
+            }
+            fail[child] = next >= 0 && next != child ? next : 0;
+            queue.add(child);
+         }
+      }
+   }
+
+   /**
+    * scans the text once.
+    *
+    * @param text the text to scan
+    * @return the indices of every pattern that occurs in the text
+    */
+   BitSet match(String text) {
+      BitSet matched = new BitSet(patternCount);
+      int state = 0;
+      for (int i = 0; i < text.length(); i++) {
+         char c = text.charAt(i);
+         int next = step(state, c);
+         while (next < 0 && state != 0) {
+            state = fail[state];
+            next = step(state, c);
+         }
+         state = next >= 0 ? next : 0;
+         for (int index : output[state]) {
+            matched.set(index);
+         }
+      }
+      return matched;
+   }
+
+   private int step(int node, char c) {
+      int j = Arrays.binarySearch(keys[node], c);
+      return j >= 0 ? targets[node][j] : -1;
+   }
+
+   private static int[] toArray(List<Integer> own, int[] inherited) {
+      if (own.isEmpty()) {
+         return inherited;
+      }
+      int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+      for (int i = 0; i < own.size(); i++) {
+         merged[inherited.length + i] = own.get(i);
+      }
+      return merged;
+   }
+}
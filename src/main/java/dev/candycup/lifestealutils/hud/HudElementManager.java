@@ -8,6 +8,8 @@ import net.minecraft.util.Mth;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,9 @@ import java.util.Map;
 public final class HudElementManager {
    private static final Map<Identifier, HudElementDefinition> DEFINITIONS = new LinkedHashMap<>();
    private static final Map<Identifier, HudPosition> POSITIONS = new LinkedHashMap<>();
+   private static final Map<Identifier, CachedElement> RENDER_CACHE = new HashMap<>();
+   private static final List<RenderedHudElement> FRAME_RENDERABLES = new ArrayList<>();
+   private static final List<RenderedHudElement> FRAME_RENDERABLES_VIEW = Collections.unmodifiableList(FRAME_RENDERABLES);
 
    private HudElementManager() {
    }
@@ -26,9 +31,21 @@ public final class HudElementManager {
 
    public static void register(HudElementDefinition definition) {
       DEFINITIONS.put(definition.id(), definition);
+      RENDER_CACHE.remove(definition.id());
       POSITIONS.putIfAbsent(definition.id(), definition.defaultPosition());
    }
 
+   /**
+    * Removes an element definition. Its saved position is kept so it returns to the same
+    * place if it is registered again.
+    *
+    * @param id the element identifier
+    */
+   public static void unregister(Identifier id) {
+      DEFINITIONS.remove(id);
+      RENDER_CACHE.remove(id);
+   }
+
    public static Collection<HudElementDefinition> definitions() {
       return DEFINITIONS.values();
    }
@@ -80,22 +97,61 @@ public final class HudElementManager {
       HudLayoutStorage.save(POSITIONS);
    }
 
+   /**
+    * Builds the renderable HUD elements for the current frame, skipping elements whose
+    * text is empty. The returned list is reused between calls and only valid until the
+    * next call.
+    */
    public static List<RenderedHudElement> renderables(Font font, int guiWidth, int guiHeight) {
-      List<RenderedHudElement> renderables = new ArrayList<>();
+      FRAME_RENDERABLES.clear();
       for (HudElementDefinition definition : DEFINITIONS.values()) {
-         renderables.add(renderable(definition, font, guiWidth, guiHeight));
+         RenderedHudElement element = renderable(definition, font, guiWidth, guiHeight);
+         if (element != null) {
+            FRAME_RENDERABLES.add(element);
+         }
       }
-      return renderables;
+      return FRAME_RENDERABLES_VIEW;
    }
 
+   /**
+    * Resolves a single element, reusing the parsed component, width and pixel position
+    * from the previous call unless the supplied text, GUI size, font or stored position changed.
+    *
+    * @return the renderable element, or null if the element currently has no text
+    */
    public static RenderedHudElement renderable(HudElementDefinition definition, Font font, int guiWidth, int guiHeight) {
-      Component component = MessagingUtils.miniMessage(definition.miniMessageSupplier().get());
-      int textWidth = font.width(component);
-      int textHeight = font.lineHeight;
+      String text = definition.miniMessageSupplier().get();
+      if (text == null || text.isEmpty()) {
+         return null;
+      }
+
+      CachedElement cached = RENDER_CACHE.get(definition.id());
+      if (cached == null || cached.definition != definition) {
+         cached = new CachedElement(definition);
+         RENDER_CACHE.put(definition.id(), cached);
+      }
+
       HudPosition position = positionFor(definition.id());
-      int x = pixelCoordinate(position.x(), guiWidth, textWidth);
-      int y = pixelCoordinate(position.y(), guiHeight, textHeight);
-      return new RenderedHudElement(definition, component, x, y, textWidth, textHeight);
+      if (!text.equals(cached.text) || font != cached.font) {
+         cached.text = text;
+         cached.font = font;
+         cached.component = MessagingUtils.miniMessage(text);
+         cached.textWidth = font.width(cached.component);
+         cached.rendered = null;
+      }
+
+      RenderedHudElement rendered = cached.rendered;
+      if (rendered == null || guiWidth != cached.guiWidth || guiHeight != cached.guiHeight || !position.equals(cached.position)) {
+         int textHeight = font.lineHeight;
+         int x = pixelCoordinate(position.x(), guiWidth, cached.textWidth);
+         int y = pixelCoordinate(position.y(), guiHeight, textHeight);
+         rendered = new RenderedHudElement(definition, cached.component, x, y, cached.textWidth, textHeight);
+         cached.rendered = rendered;
+         cached.guiWidth = guiWidth;
+         cached.guiHeight = guiHeight;
+         cached.position = position;
+      }
+      return rendered;
    }
 
    private static int pixelCoordinate(float normalized, int guiSize, int elementSize) {
@@ -104,6 +160,25 @@ public final class HudElementManager {
       return Mth.floor(clamped * available);
    }
 
+   /**
+    * Last resolved state of one element, invalidated piecewise by {@link #renderable}.
+    */
+   private static final class CachedElement {
+      private final HudElementDefinition definition;
+      private String text;
+      private Font font;
+      private Component component;
+      private int textWidth;
+      private int guiWidth;
+      private int guiHeight;
+      private HudPosition position;
+      private RenderedHudElement rendered;
+
+      private CachedElement(HudElementDefinition definition) {
+         this.definition = definition;
+      }
+   }
+
    public record RenderedHudElement(
            HudElementDefinition definition,
            Component component,
@@ -1,7 +1,7 @@
 package dev.candycup.lifestealutils.integrations.xaero;
 
 import dev.candycup.lifestealutils.Config;
-import dev.candycup.lifestealutils.api.LifestealTablistAPI;
+import dev.candycup.lifestealutils.api.LifestealContext;
 import dev.candycup.lifestealutils.event.EventPriority;
 import dev.candycup.lifestealutils.event.events.ClientTickEvent;
 import dev.candycup.lifestealutils.event.events.LifestealShardSwapEvent;
@@ -37,10 +37,6 @@ public final class XaeroPoiWaypointIntegration implements TickEventListener, Ser
    private static final String FALLBACK_POI_NAME = "POI";
    private static final int DEFAULT_COLOR_INDEX = 0;
    private static final int SYNC_DELAY_TICKS = 40;
-   private static final String SHARD_KEYWORD_NETHER = "nether";
-   private static final String SHARD_KEYWORD_HUB = "hub";
-   private static final String SHARD_KEYWORD_SPAWN = "spawn";
-   private static final String POI_DIMENSION_NETHER = "the_nether";
 
    private int pendingSyncTicks = -1;
    private int pendingRemoveTicks = -1;
@@ -425,12 +421,12 @@ public final class XaeroPoiWaypointIntegration implements TickEventListener, Ser
     * @return true if the poi should be added in the current shard
     */
    private boolean isPoiVisibleOnCurrentShard(PoiRepository.Poi poi) {
-      if (poi.dimension() == null || poi.dimension().isBlank()) {
-         return !isShardNether();
+      boolean shardNether = LifestealContext.current().isNetherShard();
+      LifestealContext.Dimension poiDimension = LifestealContext.Dimension.ofName(poi.dimension());
+      if (poiDimension == null) {
+         return !shardNether;
       }
-      boolean poiNether = poi.dimension().contains(POI_DIMENSION_NETHER);
-      boolean shardNether = isShardNether();
-      return poiNether == shardNether;
+      return (poiDimension == LifestealContext.Dimension.NETHER) == shardNether;
    }
 
    /**
@@ -439,24 +435,6 @@ public final class XaeroPoiWaypointIntegration implements TickEventListener, Ser
     * @return true when on hub/spawn shards
     */
    private boolean isIndicatorsSuppressedForShard() {
-      String shardName = LifestealTablistAPI.getCurrentShard();
-      if (shardName == null || shardName.isBlank()) {
-         return false;
-      }
-      String shardLower = shardName.toLowerCase();
-      return shardLower.contains(SHARD_KEYWORD_HUB) || shardLower.contains(SHARD_KEYWORD_SPAWN);
-   }
-
-   /**
-    * checks if the current shard is a nether shard.
-    *
-    * @return true if shard name contains "nether"
-    */
-   private boolean isShardNether() {
-      String shardName = LifestealTablistAPI.getCurrentShard();
-      if (shardName == null || shardName.isBlank()) {
-         return false;
-      }
-      return shardName.toLowerCase().contains(SHARD_KEYWORD_NETHER);
+      return LifestealContext.current().isPoiSuppressed();
    }
 }
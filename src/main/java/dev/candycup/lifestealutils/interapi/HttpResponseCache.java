@@ -0,0 +1,168 @@
+package dev.candycup.lifestealutils.interapi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.nio.file.attribute.FileTime;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * on-disk store of GET responses and their validators, one file per url.
+ * <p>
+ * entries carry the ETag / Last-Modified headers used for conditional requests and the time
+ * until which the response may be reused without asking the server at all. the directory is
+ * capped at {@link #MAX_ENTRIES} files, dropping the least recently written first.
+ */
+final class HttpResponseCache {
+   private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/network");
+   private static final int FORMAT_VERSION = 1;
+   private static final String EXTENSION = ".bin";
+   private static final int MAX_ENTRIES = 512;
+   // the directory is listed on the first store and then every this many
+   private static final int PRUNE_INTERVAL = 32;
+
+   private final Path directory;
+   private final AtomicInteger stores = new AtomicInteger();
+
+   HttpResponseCache(Path directory) {
+      this.directory = directory;
+   }
+
+   /**
+    * a cached response.
+    *
+    * @param etag         the ETag header, or empty
+    * @param lastModified the Last-Modified header, or empty
+    * @param freshUntil   epoch millis until which the body can be used without revalidating
+    */
+   record Entry(int statusCode, String etag, String lastModified, long freshUntil, String body) {
+      boolean isFresh(long now) {
+         return now < freshUntil;
+      }
+
+      Entry withFreshUntil(long freshUntil) {
+         return new Entry(statusCode, etag, lastModified, freshUntil, body);
+      }
+   }
+
+   Entry load(String url) {
+      Path path = pathFor(url);
+      if (!Files.exists(path)) {
+         return null;
+      }
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+         if (in.readInt() != FORMAT_VERSION || !url.equals(in.readUTF())) {
+            return null;
+         }
+         int statusCode = in.readInt();
+         String etag = in.readUTF();
+         String lastModified = in.readUTF();
+         long freshUntil = in.readLong();
+         byte[] body = in.readAllBytes();
+         return new Entry(statusCode, etag, lastModified, freshUntil, new String(body, StandardCharsets.UTF_8));
+      } catch (IOException e) {
+         LOGGER.debug("discarding unreadable http cache entry for {}: {}", url, e.getMessage());
+         return null;
+      }
+   }
+
+   void store(String url, Entry entry) {
+      Path path = pathFor(url);
+      Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+      try {
+         Files.createDirectories(directory);
+         try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(url);
+            out.writeInt(entry.statusCode());
+            out.writeUTF(entry.etag());
+            out.writeUTF(entry.lastModified());
+            out.writeLong(entry.freshUntil());
+            out.write(entry.body().getBytes(StandardCharsets.UTF_8));
+         }
+         try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } catch (IOException e) {
+         LOGGER.debug("failed to write http cache entry for {}: {}", url, e.getMessage());
+         return;
+      }
+      if (stores.getAndIncrement() % PRUNE_INTERVAL == 0) {
+         prune();
+      }
+   }
+
+   /**
+    * deletes the least recently written entries beyond {@link #MAX_ENTRIES}.
+    */
+   private void prune() {
+      List<CachedFile> files = new ArrayList<>();
+      try (Stream<Path> listing = Files.list(directory)) {
+         for (Path path : (Iterable<Path>) listing::iterator) {
+            if (path.getFileName().toString().endsWith(EXTENSION)) {
+               files.add(new CachedFile(path, lastModified(path)));
+            }
+         }
+      } catch (IOException e) {
+         LOGGER.debug("failed to list http cache entries: {}", e.getMessage());
+         return;
+      }
+      if (files.size() <= MAX_ENTRIES) {
+         return;
+      }
+      files.sort(Comparator.comparing(CachedFile::modified));
+      int excess = files.size() - MAX_ENTRIES;
+      for (int i = 0; i < excess; i++) {
+         try {
+            Files.deleteIfExists(files.get(i).path());
+         } catch (IOException e) {
+            LOGGER.debug("failed to delete http cache entry {}: {}", files.get(i).path(), e.getMessage());
+         }
+      }
+      LOGGER.debug("pruned {} http cache entries", excess);
+   }
+
+   private static FileTime lastModified(Path path) {
+      try {
+         return Files.getLastModifiedTime(path);
+      } catch (IOException e) {
+         // gone or unreadable, so it goes first
+         return FileTime.fromMillis(0);
+      }
+   }
+
+   private record CachedFile(Path path, FileTime modified) {
+   }
+
+   private Path pathFor(String url) {
+      return directory.resolve(hash(url) + EXTENSION);
+   }
+
+   private static String hash(String url) {
+      try {
+         MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)), 0, 20);
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 unavailable", e);
+      }
+   }
+}
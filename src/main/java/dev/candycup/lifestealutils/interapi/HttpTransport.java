@@ -0,0 +1,142 @@
+package dev.candycup.lifestealutils.interapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * GET transport on a shared {@link HttpClient}.
+ * <p>
+ * connections are pooled and kept alive by the client, responses are requested gzip-encoded,
+ * and cacheable responses are kept in an {@link HttpResponseCache}. a cached response still
+ * inside its max-age is returned without touching the network; otherwise the request carries
+ * If-None-Match / If-Modified-Since and a 304 reuses the cached body.
+ * <p>
+ * instances are independent so a transport can be pointed at a local test server and a
+ * temporary cache directory.
+ */
+final class HttpTransport {
+   private final HttpClient client;
+   private final HttpResponseCache cache;
+   private final String userAgent;
+
+   HttpTransport(HttpClient client, HttpResponseCache cache, String userAgent) {
+      this.client = client;
+      this.cache = cache;
+      this.userAgent = userAgent;
+   }
+
+   static HttpClient defaultClient(Duration connectTimeout) {
+      return HttpClient.newBuilder()
+              .connectTimeout(connectTimeout)
+              .followRedirects(HttpClient.Redirect.NORMAL)
+              .build();
+   }
+
+   /**
+    * @return the cached copy of a url, fresh or not, or null if none is stored
+    */
+   HttpResponseCache.Entry cached(String url) {
+      return cache.load(url);
+   }
+
+   /**
+    * @return the cached response if it is still fresh, or null if the network should be asked
+    */
+   static NetworkUtilsController.HttpResult freshResult(HttpResponseCache.Entry cached) {
+      if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+         return NetworkUtilsController.HttpResult.success(cached.statusCode(), cached.body());
+      }
+      return null;
+   }
+
+   /**
+    * sends the request, revalidating the cached copy if there is one. callers load it with
+    * {@link #cached} and check {@link #freshResult} first to skip the network for fresh entries.
+    */
+   NetworkUtilsController.HttpResult get(URI uri, Duration timeout, HttpResponseCache.Entry cached) throws IOException, InterruptedException {
+      String url = uri.toString();
+      long now = System.currentTimeMillis();
+
+      HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+              .GET()
+              .timeout(timeout)
+              .header("User-Agent", userAgent)
+              .header("Accept-Encoding", "gzip");
+      if (cached != null) {
+         if (!cached.etag().isEmpty()) {
+            request.header("If-None-Match", cached.etag());
+         }
+         if (!cached.lastModified().isEmpty()) {
+            request.header("If-Modified-Since", cached.lastModified());
+         }
+      }
+
+      HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+      int status = response.statusCode();
+      HttpHeaders headers = response.headers();
+
+      if (status == 304 && cached != null) {
+         long maxAge = maxAgeMillis(headers);
+         if (maxAge > 0) {
+            cache.store(url, cached.withFreshUntil(now + maxAge));
+         }
+         return NetworkUtilsController.HttpResult.success(cached.statusCode(), cached.body());
+      }
+      if (status < 200 || status >= 300) {
+         return NetworkUtilsController.HttpResult.failure(status, "non-ok status code: " + status);
+      }
+
+      String body = decodeBody(response.body(), headers);
+      storeIfCacheable(url, status, headers, body, now);
+      return NetworkUtilsController.HttpResult.success(status, body);
+   }
+
+   private void storeIfCacheable(String url, int status, HttpHeaders headers, String body, long now) {
+      String cacheControl = headers.firstValue("Cache-Control").orElse("").toLowerCase(Locale.ROOT);
+      if (cacheControl.contains("no-store")) {
+         return;
+      }
+      String etag = headers.firstValue("ETag").orElse("");
+      String lastModified = headers.firstValue("Last-Modified").orElse("");
+      long maxAge = cacheControl.contains("no-cache") ? 0 : maxAgeMillis(headers);
+      if (etag.isEmpty() && lastModified.isEmpty() && maxAge <= 0) {
+         return;
+      }
+      cache.store(url, new HttpResponseCache.Entry(status, etag, lastModified, now + maxAge, body));
+   }
+
+   private static long maxAgeMillis(HttpHeaders headers) {
+      String cacheControl = headers.firstValue("Cache-Control").orElse("");
+      for (String directive : cacheControl.split(",")) {
+         String trimmed = directive.trim().toLowerCase(Locale.ROOT);
+         if (trimmed.startsWith("max-age=")) {
+            try {
+               return Math.max(0, Long.parseLong(trimmed.substring("max-age=".length()))) * 1000L;
+            } catch (NumberFormatException ignored) {
+               return 0;
+            }
+         }
+      }
+      return 0;
+   }
+
+   private static String decodeBody(byte[] raw, HttpHeaders headers) throws IOException {
+      String encoding = headers.firstValue("Content-Encoding").orElse("");
+      if (!encoding.equalsIgnoreCase("gzip")) {
+         return new String(raw, StandardCharsets.UTF_8);
+      }
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+         return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+   }
+}
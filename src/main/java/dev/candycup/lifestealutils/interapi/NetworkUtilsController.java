@@ -4,11 +4,7 @@ import net.fabricmc.loader.api.FabricLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -31,7 +27,8 @@ import java.util.concurrent.TimeUnit;
  * requests made by users.
  * <p>
  * this class provides centralized http utilities for making network requests.
- * provides caching, rate limiting, and common configuration.
+ * provides caching, rate limiting, and common configuration. requests share one pooled
+ * http client and a conditional-GET disk cache (see {@link HttpTransport}).
  */
 public final class NetworkUtilsController {
    private static final Logger LOGGER = LoggerFactory.getLogger("lifestealutils/network");
@@ -43,6 +40,12 @@ public final class NetworkUtilsController {
 
    private static final Map<String, CompletableFuture<HttpResult>> pendingRequests = new ConcurrentHashMap<>();
 
+   private static final HttpTransport TRANSPORT = new HttpTransport(
+           HttpTransport.defaultClient(DEFAULT_TIMEOUT),
+           new HttpResponseCache(FabricLoader.getInstance().getConfigDir().resolve("lifestealutils").resolve("http-cache")),
+           USER_AGENT
+   );
+
    private NetworkUtilsController() {
    }
 
@@ -98,6 +101,13 @@ public final class NetworkUtilsController {
       }
 
       try {
+         // a response still inside its max-age costs nothing, not even a rate limit slot
+         HttpResponseCache.Entry cached = TRANSPORT.cached(url);
+         HttpResult fresh = HttpTransport.freshResult(cached);
+         if (fresh != null) {
+            return fresh;
+         }
+
          URI uri = new URI(url);
          String host = uri.getHost();
 
@@ -112,26 +122,10 @@ public final class NetworkUtilsController {
             lastRequestTimePerHost.put(host, System.currentTimeMillis());
          }
 
-         HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
-         connection.setRequestMethod("GET");
-         connection.setConnectTimeout((int) timeout.toMillis());
-         connection.setReadTimeout((int) timeout.toMillis());
-         connection.setRequestProperty("User-Agent", USER_AGENT);
-
-         int responseCode = connection.getResponseCode();
-         if (responseCode < 200 || responseCode >= 300) {
-            return HttpResult.failure(responseCode, "non-ok status code: " + responseCode);
-         }
-
-         try (BufferedReader reader = new BufferedReader(
-                 new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-               response.append(line);
-            }
-            return HttpResult.success(responseCode, response.toString());
-         }
+         return TRANSPORT.get(uri, timeout, cached);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return HttpResult.failure("request interrupted");
       } catch (Exception e) {
          LOGGER.debug("http request failed for {}: {}", url, e.getMessage());
          return HttpResult.failure("request failed: " + e.getMessage());
@@ -4,6 +4,8 @@ import dev.candycup.lifestealutils.Config;
 import dev.candycup.lifestealutils.LifestealUtils;
 import dev.candycup.lifestealutils.api.LifestealServerDetector;
 import dev.candycup.lifestealutils.api.LifestealTablistAPI;
+import dev.candycup.lifestealutils.api.OnlinePlayerIndex;
+import dev.candycup.lifestealutils.api.TabListDecorationCache;
 import dev.candycup.lifestealutils.event.EventBus;
 import dev.candycup.lifestealutils.event.events.CommandSentEvent;
 import dev.candycup.lifestealutils.features.baltop.BaltopScraper;
@@ -11,7 +13,11 @@ import dev.candycup.lifestealutils.ui.BaltopScreen;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.ChatScreen;
 import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
 import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundTabListPacket;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -33,6 +39,28 @@ public class ClientPacketListenerMixin {
       }
    }
 
+   /**
+    * Keeps the online player index current and drops cached tab list decorations
+    * for players whose display name or entry changed.
+    */
+   @Inject(method = "handlePlayerInfoUpdate", at = @At("RETURN"))
+   private void onPlayerInfoUpdate(ClientboundPlayerInfoUpdatePacket packet, CallbackInfo ci) {
+      OnlinePlayerIndex.handleInfoUpdate((ClientPacketListener) (Object) this, packet);
+      if (!packet.actions().contains(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME)
+              && !packet.actions().contains(ClientboundPlayerInfoUpdatePacket.Action.ADD_PLAYER)) {
+         return;
+      }
+      ClientPacketListener connection = (ClientPacketListener) (Object) this;
+      for (ClientboundPlayerInfoUpdatePacket.Entry entry : packet.entries()) {
+         TabListDecorationCache.invalidate(connection.getPlayerInfo(entry.profileId()));
+      }
+   }
+
+   @Inject(method = "handlePlayerInfoRemove", at = @At("RETURN"))
+   private void onPlayerInfoRemove(ClientboundPlayerInfoRemovePacket packet, CallbackInfo ci) {
+      OnlinePlayerIndex.handleInfoRemove((ClientPacketListener) (Object) this, packet);
+   }
+
    /**
     * Intercepts container screen opening to prevent server GUI from replacing our BaltopScreen.
     * We let vanilla set up the containerMenu but restore our screen afterwards.
@@ -52,6 +80,19 @@ public class ClientPacketListenerMixin {
       }
    }
 
+   /**
+    * Lets the baltop scraper read a page as soon as its contents arrive.
+    */
+   @Inject(method = "handleContainerContent", at = @At("RETURN"))
+   private void onContainerContent(ClientboundContainerSetContentPacket packet, CallbackInfo ci) {
+      BaltopScraper.getInstance().onContainerContent();
+   }
+
+   @Inject(method = "handleContainerSetSlot", at = @At("RETURN"))
+   private void onContainerSetSlot(ClientboundContainerSetSlotPacket packet, CallbackInfo ci) {
+      BaltopScraper.getInstance().onContainerSlot();
+   }
+
    /**
     * Overrides the /baltop command to open the custom interface when typed manually.
     */
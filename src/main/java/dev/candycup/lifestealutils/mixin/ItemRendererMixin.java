@@ -31,10 +31,14 @@ public class ItemRendererMixin {
       ItemStack itemStack = duck.lifestealutils$getItemStack();
       boolean isRare = duck.lifestealutils$isRare();
 
-      ItemRenderEvent event = new ItemRenderEvent(itemStack, poseStack, isRare);
-      EventBus.getInstance().post(event);
-      if (event.isCancelled()) {
-         ci.cancel();
+      ItemRenderEvent event = ItemRenderEvent.obtain(itemStack, poseStack, isRare);
+      try {
+         EventBus.getInstance().post(event);
+         if (event.isCancelled()) {
+            ci.cancel();
+         }
+      } finally {
+         event.release();
       }
    }
 
@@ -56,11 +60,14 @@ public class ItemRendererMixin {
       ItemStack itemStack = duck.lifestealutils$getItemStack();
       boolean isRare = duck.lifestealutils$isRare();
       
-      ItemRenderEvent event = new ItemRenderEvent(itemStack, poseStack, isRare);
-      EventBus.getInstance().post(event);
-      if (event.isCancelled()) {
-         ci.cancel();
-         return;
+      ItemRenderEvent event = ItemRenderEvent.obtain(itemStack, poseStack, isRare);
+      try {
+         EventBus.getInstance().post(event);
+         if (event.isCancelled()) {
+            ci.cancel();
+         }
+      } finally {
+         event.release();
       }
    }
    *///?}
@@ -1,27 +1,74 @@
 package dev.candycup.lifestealutils.mixin;
 
 import com.llamalad7.mixinextras.injector.ModifyReturnValue;
+import dev.candycup.lifestealutils.Config;
 import dev.candycup.lifestealutils.event.EventBus;
 import dev.candycup.lifestealutils.event.events.PlayerNameRenderEvent;
+import dev.candycup.lifestealutils.features.alliances.AllianceRoster;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.player.Player;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 
 @Mixin(Player.class)
 public abstract class PlayerEntityMixin {
+   // last decorated name for this player. vanilla rebuilds the display name on every call,
+   // so the key is the original component by equality plus the alliance state it was built with.
+   // team or profile changes alter the original component and miss naturally.
+   @Unique
+   private Component lifestealutils$cachedOriginal;
+   @Unique
+   private Component lifestealutils$cachedDecorated;
+   @Unique
+   private long lifestealutils$cachedRosterVersion = -1;
+   @Unique
+   private boolean lifestealutils$cachedAlliancesEnabled;
+   @Unique
+   private int lifestealutils$cachedAllianceColor;
+
    @ModifyReturnValue(method = "getDisplayName", at = @At("RETURN"))
    public Component appendWithAllianceColor(Component original) {
       if (original == null) return null;
 
+      AllianceRoster.Snapshot roster = AllianceRoster.snapshot();
+      long rosterVersion = roster.version();
+      boolean alliancesEnabled = Config.getEnableAlliances();
+      int allianceColor = Config.getAllianceNameColor();
+      if (rosterVersion == lifestealutils$cachedRosterVersion
+              && alliancesEnabled == lifestealutils$cachedAlliancesEnabled
+              && allianceColor == lifestealutils$cachedAllianceColor
+              && original.equals(lifestealutils$cachedOriginal)) {
+         // callers may append to the returned name, so never hand out the cached instance
+         return lifestealutils$cachedDecorated == null ? original : lifestealutils$cachedDecorated.copy();
+      }
+
+      Component decorated = lifestealutils$decorate(original);
+      if (decorated == original && alliancesEnabled && roster.contains(((Player) (Object) this).getUUID())) {
+         // an ally whose tab entry hasn't arrived yet can't be resolved by name; retry next call
+         return original;
+      }
+      lifestealutils$cachedOriginal = original;
+      lifestealutils$cachedDecorated = decorated == original ? null : decorated;
+      lifestealutils$cachedRosterVersion = rosterVersion;
+      lifestealutils$cachedAlliancesEnabled = alliancesEnabled;
+      lifestealutils$cachedAllianceColor = allianceColor;
+      return decorated == original ? original : decorated.copy();
+   }
+
+   @Unique
+   private Component lifestealutils$decorate(Component original) {
       Component nameComponent = ((Player) (Object) this).getName();
       String plainName = nameComponent != null ? nameComponent.getString() : null;
       if (plainName == null || plainName.isBlank()) return original;
 
-      PlayerNameRenderEvent event = new PlayerNameRenderEvent(plainName, original);
-      EventBus.getInstance().post(event);
-
-      return event.getModifiedDisplayName();
+      PlayerNameRenderEvent event = PlayerNameRenderEvent.obtain(plainName, original);
+      try {
+         EventBus.getInstance().post(event);
+         return event.getModifiedDisplayName();
+      } finally {
+         event.release();
+      }
    }
 
 }
@@ -1,10 +1,13 @@
 package dev.candycup.lifestealutils.ui;
 
 import dev.candycup.lifestealutils.features.baltop.BaltopScraper;
+import dev.candycup.lifestealutils.features.baltop.BaltopSearchIndex;
+import dev.candycup.lifestealutils.features.baltop.BaltopSnapshotStore;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.AbstractSelectionList;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.components.ObjectSelectionList;
 import net.minecraft.client.gui.components.PlayerFaceRenderer;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -30,21 +33,37 @@ import net.minecraft.client.input.KeyEvent;
 /*import net.minecraft.client.resources.PlayerSkin;
  *///?}
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
  * A screen displaying the balance leaderboard (baltop) in a Statistics-like format.
  * Shows player heads, usernames, balances, and positions.
  * Supports live updating as entries are scraped from the server.
+ * Opens on the last saved leaderboard while a fresh scrape runs, and shows how each
+ * player's balance moved since an earlier saved leaderboard.
  */
 public class BaltopScreen extends Screen {
    private static final Component TITLE = Component.translatable("lifestealutils.baltop.title");
    private static final Component BALTOP_TAB = Component.translatable("lifestealutils.baltop.tab");
    private static final Component LOADING_TEXT = Component.translatable("lifestealutils.baltop.loading");
+   private static final Component SEARCH_HINT = Component.translatable("lifestealutils.baltop.search");
    private static final int LIST_WIDTH = 280;
    private static final int PADDING = 8;
+   private static final int SEARCH_WIDTH = 200;
+   /**
+    * space above the list taken by the search box
+    */
+   private static final int SEARCH_AREA_HEIGHT = 26;
+   /**
+    * balance changes are measured against a saved leaderboard at least this much older
+    */
+   private static final long BASELINE_MIN_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
 
    private final HeaderAndFooterLayout layout = new HeaderAndFooterLayout(this);
    private final TabManager tabManager;
@@ -52,7 +71,15 @@ public class BaltopScreen extends Screen {
    private final Screen lastScreen;
    private final BaltopScraper scraper;
    private BaltopList baltopList;
+   private EditBox searchBox;
+   private String searchQuery = "";
    private boolean loadingComplete = false;
+   /**
+    * the saved leaderboard shown until the scrape finishes, or null when showing scraped data
+    */
+   private List<BaltopScraper.BaltopEntry> savedEntries;
+   private long savedTakenAt;
+   private BaltopSnapshotStore.Snapshot baseline;
 
    /**
     * Creates a new BaltopScreen that displays data from a scraper.
@@ -69,6 +96,35 @@ public class BaltopScreen extends Screen {
               guiEventListener -> addRenderableWidget(guiEventListener),
               this::removeWidget
       );
+
+      // the history is read in the background; show it as soon as it is in memory
+      if (BaltopSnapshotStore.isLoaded()) {
+         showSavedLeaderboard();
+      } else {
+         BaltopSnapshotStore.load().thenRunAsync(this::showSavedLeaderboard, Minecraft.getInstance());
+      }
+   }
+
+   /**
+    * Shows the last saved leaderboard until the scrape completes, unless scraped rows are
+    * already on screen.
+    */
+   private void showSavedLeaderboard() {
+      if (loadingComplete || savedEntries != null) return;
+      BaltopSnapshotStore.Snapshot latest = BaltopSnapshotStore.latest();
+      if (latest == null) return;
+
+      this.baseline = BaltopSnapshotStore.baselineFor(latest, BASELINE_MIN_AGE_MILLIS);
+      if (!scraper.getScrapedEntries().isEmpty()) return;
+      List<BaltopScraper.BaltopEntry> entries = new ArrayList<>(latest.entries().size());
+      for (BaltopSnapshotStore.Entry entry : latest.entries()) {
+         entries.add(BaltopScraper.BaltopEntry.fromSnapshot(entry));
+      }
+      this.savedEntries = entries;
+      this.savedTakenAt = latest.takenAt();
+      if (baltopList != null) {
+         baltopList.reload();
+      }
    }
 
    /**
@@ -86,9 +142,26 @@ public class BaltopScreen extends Screen {
     */
    public void onLoadingComplete() {
       loadingComplete = true;
+      BaltopSnapshotStore.Snapshot latest = BaltopSnapshotStore.latest();
+      this.baseline = latest != null ? BaltopSnapshotStore.baselineFor(latest, BASELINE_MIN_AGE_MILLIS) : null;
+      if (savedEntries != null) {
+         // swap the saved leaderboard for the one just scraped
+         savedEntries = null;
+         if (baltopList != null) {
+            baltopList.reload();
+         }
+         return;
+      }
       refreshEntries();
    }
 
+   /**
+    * @return the entries to display: the saved leaderboard while it's shown, otherwise the scraper's
+    */
+   private List<BaltopScraper.BaltopEntry> displayedEntries() {
+      return savedEntries != null ? savedEntries : scraper.getScrapedEntries();
+   }
+
    /**
     * Called by the scraper when scraping fails.
     */
@@ -107,6 +180,16 @@ public class BaltopScreen extends Screen {
               .build();
       addRenderableWidget(this.tabNavigationBar);
 
+      this.searchBox = new EditBox(this.font, 0, 0, SEARCH_WIDTH, 20, SEARCH_HINT);
+      this.searchBox.setHint(SEARCH_HINT);
+      this.searchBox.setValue(this.searchQuery);
+      this.searchBox.setResponder(query -> {
+         this.searchQuery = query;
+         baltopList.setQuery(query);
+      });
+      baltopList.setQuery(this.searchQuery);
+      addRenderableWidget(this.searchBox);
+
       // add done button to footer
       this.layout.addToFooter((LayoutElement) Button.builder(CommonComponents.GUI_DONE, button -> onClose())
               .width(200)
@@ -136,6 +219,9 @@ public class BaltopScreen extends Screen {
       this.tabManager.setTabArea(tabArea);
       this.layout.setHeaderHeight(tabBottom);
       this.layout.arrangeElements();
+      if (this.searchBox != null) {
+         this.searchBox.setPosition((this.width - SEARCH_WIDTH) / 2, tabBottom + 3);
+      }
    }
 
    //? if >1.21.8 {
@@ -164,11 +250,19 @@ public class BaltopScreen extends Screen {
       // render loading indicator if still scraping
       if (!loadingComplete && scraper.isLoading()) {
          int entryCount = scraper.getScrapedEntries().size();
-         Component loadingStatus = Component.translatable("lifestealutils.baltop.loading.count", entryCount);
+         Component loadingStatus = savedEntries != null
+                 ? Component.translatable("lifestealutils.baltop.loading.saved", formatAge(savedTakenAt), entryCount)
+                 : Component.translatable("lifestealutils.baltop.loading.count", entryCount);
          int textWidth = this.font.width(loadingStatus);
          int textX = (this.width - textWidth) / 2;
-         int textY = this.layout.getHeaderHeight() + 4;
+         int textY = this.layout.getHeaderHeight() + SEARCH_AREA_HEIGHT + 4;
          guiGraphics.drawString(this.font, loadingStatus, textX, textY, 0xFFFFAA00); // orange color
+      } else if (baseline != null) {
+         Component changesSince = Component.translatable("lifestealutils.baltop.changesSince", formatAge(baseline.takenAt()));
+         int textWidth = this.font.width(changesSince);
+         int textX = (this.width - textWidth) / 2;
+         int textY = this.layout.getHeaderHeight() + SEARCH_AREA_HEIGHT + 4;
+         guiGraphics.drawString(this.font, changesSince, textX, textY, 0xFF808080); // dark gray color
       }
 
       // render version text in bottom right corner
@@ -183,6 +277,17 @@ public class BaltopScreen extends Screen {
       guiGraphics.drawString(this.font, versionText, textX, textY, 0xFF808080); // dark gray color
    }
 
+   /**
+    * Formats how long ago a saved leaderboard was taken, e.g. "5m", "3h" or "2d".
+    */
+   private static String formatAge(long takenAt) {
+      long minutes = Math.max(0, TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - takenAt));
+      if (minutes < 60) return minutes + "m";
+      long hours = minutes / 60;
+      if (hours < 48) return hours + "h";
+      return (hours / 24) + "d";
+   }
+
    @Override
    protected void renderMenuBackground(GuiGraphics guiGraphics) {
       guiGraphics.blit(RenderPipelines.GUI_TEXTURED, CreateWorldScreen.TAB_HEADER_BACKGROUND, 0, 0, 0.0F, 0.0F, this.width, this.layout.getHeaderHeight(), 16, 16);
@@ -208,17 +313,41 @@ public class BaltopScreen extends Screen {
 
       @Override
       public void doLayout(ScreenRectangle screenRectangle) {
-         this.list.updateSizeAndPosition(BaltopScreen.this.width, BaltopScreen.this.layout.getContentHeight(), BaltopScreen.this.layout.getHeaderHeight());
+         this.list.updateSizeAndPosition(BaltopScreen.this.width, BaltopScreen.this.layout.getContentHeight() - SEARCH_AREA_HEIGHT, BaltopScreen.this.layout.getHeaderHeight() + SEARCH_AREA_HEIGHT);
          super.doLayout(screenRectangle);
       }
    }
 
    /**
     * The list displaying baltop entries.
+    * <p>
+    * Rows are thin shells holding the entry and its index. The components and skin of a row
+    * are only built when it is first drawn, and kept in a small LRU so scrolling back is cheap
+    * without keeping every row's state alive.
+    * <p>
+    * Skin suppliers are kept in a second LRU so a row scrolled back into view doesn't start a
+    * new lookup. The textures themselves belong to the vanilla skin caches. Those caches have
+    * no way to release an entry, and expire unused skins on their own.
     */
    private class BaltopList extends ObjectSelectionList<BaltopList.BaltopEntry> {
       private static final int ENTRY_HEIGHT = 36;
-      private int lastKnownEntryCount = 0;
+      private static final int MAX_MATERIALIZED_ROWS = 96;
+      private static final int MAX_SKIN_SUPPLIERS = 128;
+
+      private final BaltopSearchIndex searchIndex = new BaltopSearchIndex();
+      private final Map<BaltopScraper.BaltopEntry, RowView> rowViews = new LinkedHashMap<>(MAX_MATERIALIZED_ROWS, 0.75F, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<BaltopScraper.BaltopEntry, RowView> eldest) {
+            return size() > MAX_MATERIALIZED_ROWS;
+         }
+      };
+      private final Map<String, Supplier<PlayerSkin>> skins = new LinkedHashMap<>(MAX_SKIN_SUPPLIERS, 0.75F, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<String, Supplier<PlayerSkin>> eldest) {
+            return size() > MAX_SKIN_SUPPLIERS;
+         }
+      };
+      private String query = "";
 
       public BaltopList(Minecraft minecraft) {
          super(minecraft, BaltopScreen.this.width, BaltopScreen.this.layout.getContentHeight(), 33, ENTRY_HEIGHT);
@@ -230,13 +359,85 @@ public class BaltopScreen extends Screen {
        * Only adds new entries to avoid losing scroll position.
        */
       public void refreshFromScraper() {
-         List<BaltopScraper.BaltopEntry> scraperEntries = BaltopScreen.this.scraper.getScrapedEntries();
+         List<BaltopScraper.BaltopEntry> source = BaltopScreen.this.displayedEntries();
+
+         // only index and add new entries (incremental update)
+         for (int i = searchIndex.size(); i < source.size(); i++) {
+            searchIndex.add(source.get(i).username());
+            if (query.isEmpty() || searchIndex.matches(i, query)) {
+               addEntry(new BaltopEntry(source.get(i), children().size()));
+            }
+         }
+      }
+
+      /**
+       * Rebuilds the list after the displayed source changed.
+       */
+      public void reload() {
+         searchIndex.clear();
+         rowViews.clear();
+         clearEntries();
+         refreshFromScraper();
+      }
 
-         // only add new entries (incremental update)
-         for (int i = lastKnownEntryCount; i < scraperEntries.size(); i++) {
-            addEntry(new BaltopEntry(scraperEntries.get(i)));
+      /**
+       * Shows only the entries whose username contains the query.
+       */
+      public void setQuery(String query) {
+         String normalized = query == null ? "" : query.trim();
+         if (normalized.equals(this.query)) return;
+         this.query = normalized;
+
+         List<BaltopScraper.BaltopEntry> source = BaltopScreen.this.displayedEntries();
+         clearEntries();
+         for (int index : searchIndex.search(normalized)) {
+            addEntry(new BaltopEntry(source.get(index), children().size()));
+         }
+         setScrollAmount(0);
+      }
+
+      private RowView view(BaltopScraper.BaltopEntry data) {
+         RowView view = rowViews.get(data);
+         if (view == null) {
+            view = new RowView(data, skin(data));
+            rowViews.put(data, view);
+         }
+         return view;
+      }
+
+      /**
+       * @return the skin supplier for a player, starting its lookup on first use
+       */
+      private Supplier<PlayerSkin> skin(BaltopScraper.BaltopEntry data) {
+         Supplier<PlayerSkin> skin = skins.get(data.username());
+         if (skin == null) {
+            skin = createSkinSupplier(data.profile());
+            skins.put(data.username(), skin);
+         }
+         return skin;
+      }
+
+      private Supplier<PlayerSkin> createSkinSupplier(ResolvableProfile profile) {
+         // use the item profile so skull textures render immediately
+         if (profile == null) {
+            return DefaultPlayerSkin::getDefaultSkin;
          }
-         lastKnownEntryCount = scraperEntries.size();
+         //? if >1.21.8 {
+         BaltopScreen.this.minecraft.playerSkinRenderCache().lookup(profile);
+         return () -> BaltopScreen.this.minecraft.playerSkinRenderCache().getOrDefault(profile).playerSkin();
+         //?} else {
+         /*profile.resolve();
+         return () -> {
+            ResolvableProfile resolved = profile.pollResolve();
+            if (resolved != null) {
+               PlayerSkin resolvedSkin = BaltopScreen.this.minecraft.getSkinManager().getInsecureSkin(resolved.gameProfile(), null);
+               if (resolvedSkin != null) {
+                  return resolvedSkin;
+               }
+            }
+            return DefaultPlayerSkin.get(profile.gameProfile());
+         };
+         *///?}
       }
 
       @Override
@@ -255,42 +456,17 @@ public class BaltopScreen extends Screen {
       }
 
       /**
-       * Entry representing a single player in the baltop list.
+       * The drawable state of a row, built the first time it is shown.
        */
-      private class BaltopEntry extends ObjectSelectionList.Entry<BaltopEntry> {
-         private static final int FACE_SIZE = 24;
-         private static final int PADDING = 4;
-
-         private final BaltopScraper.BaltopEntry data;
+      private class RowView {
          private final Supplier<PlayerSkin> skinSupplier;
          private final Component usernameComponent;
          private final Component balanceComponent;
          private final Component positionComponent;
+         private final Component changeComponent;
 
-         public BaltopEntry(BaltopScraper.BaltopEntry data) {
-            this.data = data;
-            // use the item profile so skull textures render immediately
-            ResolvableProfile profile = data.profile();
-            if (profile == null) {
-               this.skinSupplier = DefaultPlayerSkin::getDefaultSkin;
-            } else {
-               //? if >1.21.8 {
-               BaltopScreen.this.minecraft.playerSkinRenderCache().lookup(profile);
-               this.skinSupplier = () -> BaltopScreen.this.minecraft.playerSkinRenderCache().getOrDefault(profile).playerSkin();
-               //?} else {
-               /*profile.resolve();
-               this.skinSupplier = () -> {
-                  ResolvableProfile resolved = profile.pollResolve();
-                  if (resolved != null) {
-                     PlayerSkin resolvedSkin = BaltopScreen.this.minecraft.getSkinManager().getInsecureSkin(resolved.gameProfile(), null);
-                     if (resolvedSkin != null) {
-                        return resolvedSkin;
-                     }
-                  }
-                  return DefaultPlayerSkin.get(profile.gameProfile());
-               };
-               *///?}
-            }
+         private RowView(BaltopScraper.BaltopEntry data, Supplier<PlayerSkin> skinSupplier) {
+            this.skinSupplier = skinSupplier;
 
             // bold the username only if it's the current player
             boolean isCurrentPlayer = BaltopScreen.this.minecraft.player != null
@@ -298,7 +474,8 @@ public class BaltopScreen extends Screen {
             this.usernameComponent = Component.literal(data.username())
                     .withStyle(style -> style.withColor(0xFFFFFF).withBold(isCurrentPlayer));
 
-            this.balanceComponent = Component.literal(data.balance()).withStyle(style -> style.withColor(0xFFD700)); // gold
+            this.balanceComponent = Component.literal(data.formattedBalance()).withStyle(style -> style.withColor(0xFFD700)); // gold
+            this.changeComponent = changeSinceBaseline(data, BaltopScreen.this.baseline);
             this.positionComponent = Component.literal("#" + data.position()).withStyle(style -> {
                return switch (data.position()) {
                   case 1 -> style.withColor(0xFFD700).withBold(true); // gold
@@ -309,6 +486,36 @@ public class BaltopScreen extends Screen {
             });
          }
 
+         /**
+          * @return the balance change since the baseline leaderboard, or null if unknown or unchanged
+          */
+         private static Component changeSinceBaseline(BaltopScraper.BaltopEntry data, BaltopSnapshotStore.Snapshot baseline) {
+            Long before = baseline != null ? baseline.balanceOf(data.username()) : null;
+            if (before == null || before == data.balance()) {
+               return null;
+            }
+            long change = data.balance() - before;
+            String text = (change > 0 ? "+" : "-") + BaltopScraper.formatBalance(Math.abs(change));
+            int color = change > 0 ? 0x55FF55 : 0xFF5555; // green / red
+            return Component.literal(text).withStyle(style -> style.withColor(color));
+         }
+      }
+
+      /**
+       * Entry representing a single player in the baltop list.
+       */
+      private class BaltopEntry extends ObjectSelectionList.Entry<BaltopEntry> {
+         private static final int FACE_SIZE = 24;
+         private static final int PADDING = 4;
+
+         private final BaltopScraper.BaltopEntry data;
+         private final int row;
+
+         public BaltopEntry(BaltopScraper.BaltopEntry data, int row) {
+            this.data = data;
+            this.row = row;
+         }
+
          //? if >1.21.8 {
          @Override
          public void renderContent(GuiGraphics guiGraphics, int index, int entryWidth, boolean isSelected, float partialTick) {
@@ -330,14 +537,15 @@ public class BaltopScreen extends Screen {
             *///?}
 
          private void renderEntryContent(GuiGraphics guiGraphics, int contentX, int contentY, int contentHeight, int contentRight) {
+            RowView view = BaltopList.this.view(this.data);
+
             // determine row color based on position (alternating) - must use ARGB with full alpha
-            int rowIndex = BaltopList.this.children().indexOf(this);
-            int textColor = (rowIndex % 2 == 0) ? 0xFFFFFFFF : 0xFFBBBBBB;
+            int textColor = (this.row % 2 == 0) ? 0xFFFFFFFF : 0xFFBBBBBB;
 
             // render player face on the left side (skin loads asynchronously)
             int faceX = contentX + PADDING;
             int faceY = contentY + (contentHeight - FACE_SIZE) / 2;
-            PlayerSkin currentSkin = this.skinSupplier.get();
+            PlayerSkin currentSkin = view.skinSupplier.get();
             PlayerFaceRenderer.draw(guiGraphics, currentSkin, faceX, faceY, FACE_SIZE);
 
             // render username and balance stacked vertically, next to the face
@@ -346,20 +554,24 @@ public class BaltopScreen extends Screen {
             int totalTextHeight = lineHeight * 2 + 2; // two lines with 2px spacing
             int textStartY = contentY + (contentHeight - totalTextHeight) / 2;
 
-            guiGraphics.drawString(BaltopScreen.this.font, this.usernameComponent, textX, textStartY, textColor);
-            guiGraphics.drawString(BaltopScreen.this.font, this.balanceComponent, textX, textStartY + lineHeight + 2, textColor);
+            guiGraphics.drawString(BaltopScreen.this.font, view.usernameComponent, textX, textStartY, textColor);
+            guiGraphics.drawString(BaltopScreen.this.font, view.balanceComponent, textX, textStartY + lineHeight + 2, textColor);
+            if (view.changeComponent != null) {
+               int changeX = textX + BaltopScreen.this.font.width(view.balanceComponent) + PADDING;
+               guiGraphics.drawString(BaltopScreen.this.font, view.changeComponent, changeX, textStartY + lineHeight + 2, textColor);
+            }
 
             // render position on the right side
-            int positionWidth = BaltopScreen.this.font.width(this.positionComponent);
+            int positionWidth = BaltopScreen.this.font.width(view.positionComponent);
             int positionX = contentRight - positionWidth - PADDING;
             int positionY = contentY + (contentHeight - lineHeight) / 2;
-            guiGraphics.drawString(BaltopScreen.this.font, this.positionComponent, positionX, positionY, textColor);
+            guiGraphics.drawString(BaltopScreen.this.font, view.positionComponent, positionX, positionY, textColor);
          }
 
          @Override
          public Component getNarration() {
             return Component.translatable("narrator.select", Component.literal(
-                    data.position() + ". " + data.username() + " - " + data.balance()
+                    data.position() + ". " + data.username() + " - " + data.formattedBalance()
             ));
          }
       }
@@ -221,7 +221,10 @@ public class HudElementEditor extends Screen {
                        current.textWidth(),
                        current.textHeight()
                );
-               current = HudElementManager.renderable(current.definition(), minecraft.font, guiWidth, guiHeight);
+               HudElementManager.RenderedHudElement moved = HudElementManager.renderable(current.definition(), minecraft.font, guiWidth, guiHeight);
+               if (moved != null) {
+                  current = moved;
+               }
             }
 
             int boxLeft = Mth.floor(current.x()) - 4;
@@ -0,0 +1,75 @@
+package dev.candycup.lifestealutils.ui;
+
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * recorded draw calls for the radar's static layers (grid, labels, world border).
+ * <p>
+ * the layer is rebuilt only when the view it was recorded for changes; otherwise each frame
+ * just replays the recorded fills and strings, with no grid maths, label formatting or font
+ * measuring.
+ */
+final class RadarGridLayer {
+   private final List<Op> ops = new ArrayList<>();
+
+   private boolean valid = false;
+   private double cameraX;
+   private double cameraZ;
+   private double scale;
+   private int gridTop;
+   private int gridWidth;
+   private int gridHeight;
+
+   /**
+    * @return whether the recorded layer was built for exactly this view
+    */
+   boolean isCurrent(double cameraX, double cameraZ, double scale, int gridTop, int gridWidth, int gridHeight) {
+      return valid
+              && this.cameraX == cameraX && this.cameraZ == cameraZ && this.scale == scale
+              && this.gridTop == gridTop && this.gridWidth == gridWidth && this.gridHeight == gridHeight;
+   }
+
+   /**
+    * clears the recording and keys it to a new view; the caller then records the layer's contents.
+    */
+   void begin(double cameraX, double cameraZ, double scale, int gridTop, int gridWidth, int gridHeight) {
+      ops.clear();
+      this.cameraX = cameraX;
+      this.cameraZ = cameraZ;
+      this.scale = scale;
+      this.gridTop = gridTop;
+      this.gridWidth = gridWidth;
+      this.gridHeight = gridHeight;
+      this.valid = true;
+   }
+
+   void invalidate() {
+      valid = false;
+   }
+
+   void fill(int x0, int y0, int x1, int y1, int color) {
+      ops.add(new Op(x0, y0, x1, y1, color, null));
+   }
+
+   void text(String text, int x, int y, int color) {
+      ops.add(new Op(x, y, 0, 0, color, text));
+   }
+
+   void draw(GuiGraphics guiGraphics, Font font) {
+      for (int i = 0; i < ops.size(); i++) {
+         Op op = ops.get(i);
+         if (op.text == null) {
+            guiGraphics.fill(op.x0, op.y0, op.x1, op.y1, op.color);
+         } else {
+            guiGraphics.drawString(font, op.text, op.x0, op.y0, op.color, false);
+         }
+      }
+   }
+
+   private record Op(int x0, int y0, int x1, int y1, int color, String text) {
+   }
+}
@@ -1,5 +1,8 @@
 package dev.candycup.lifestealutils.ui;
 
+import dev.candycup.lifestealutils.api.LifestealContext;
+import dev.candycup.lifestealutils.features.radar.RadarLayers;
+import dev.candycup.lifestealutils.features.radar.TilePyramid;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
@@ -44,6 +47,23 @@ public class RadarScreen extends Screen {
     */
    private static final int PLAYER_MARKER_SIZE = 8;
 
+   /**
+    * smallest on-screen size of a visited-chunks tile, so zooming out merges chunks instead of
+    * drawing thousands of sub-pixel fills
+    */
+   private static final int MIN_VISITED_TILE_PIXELS = 4;
+
+   /**
+    * smallest on-screen size of a POI tile; POIs closer together than this are drawn as one
+    * marker with a count
+    */
+   private static final int MIN_POI_TILE_PIXELS = 24;
+
+   /**
+    * size of a POI marker in pixels
+    */
+   private static final int POI_MARKER_SIZE = 6;
+
    /**
     * header vertical padding
     */
@@ -154,6 +174,11 @@ public class RadarScreen extends Screen {
     */
    private static final int WORLD_BORDER_THICKNESS = 3;
 
+   /**
+    * grid, labels and world border, re-recorded only when the view changes
+    */
+   private final RadarGridLayer gridLayer = new RadarGridLayer();
+
    public RadarScreen() {
       super(Component.translatable("lifestealutils.radar.title"));
    }
@@ -161,6 +186,9 @@ public class RadarScreen extends Screen {
    @Override
    protected void init() {
       super.init();
+      // init also runs on resize and after resource reloads; the recorded labels were
+      // measured with the old font metrics
+      gridLayer.invalidate();
       // center the camera on the player's position
       LocalPlayer player = this.minecraft.player;
       if (player != null) {
@@ -224,11 +252,16 @@ public class RadarScreen extends Screen {
       // calculate scale for this frame
       double scale = Math.min(gridWidth, gridHeight) / blocksVisible;
 
-      // render grid
-      renderGrid(guiGraphics, gridTop, gridWidth, gridHeight, scale);
+      // render the static layers, rebuilding them only after a pan, zoom or resize
+      if (!gridLayer.isCurrent(cameraX, cameraZ, scale, gridTop, gridWidth, gridHeight)) {
+         gridLayer.begin(cameraX, cameraZ, scale, gridTop, gridWidth, gridHeight);
+         recordGrid(gridLayer, gridTop, gridWidth, gridHeight, scale);
+         recordWorldBorder(gridLayer, gridTop, gridWidth, gridHeight, scale);
+      }
+      gridLayer.draw(guiGraphics, this.font);
 
-      // render world border
-      renderWorldBorder(guiGraphics, gridTop, gridWidth, gridHeight, scale);
+      // render visited chunks and POIs from their tile pyramids
+      renderDataLayers(guiGraphics, gridTop, gridWidth, gridHeight, scale);
 
       // render hovered chunk highlight and tooltip
       renderHoveredChunk(guiGraphics, player, gridTop, gridWidth, gridHeight, scale);
@@ -279,9 +312,9 @@ public class RadarScreen extends Screen {
    }
 
    /**
-    * Renders the coordinate grid.
+    * Records the coordinate grid.
     */
-   private void renderGrid(GuiGraphics guiGraphics, int gridTop, int gridWidth, int gridHeight, double scale) {
+   private void recordGrid(RadarGridLayer layer, int gridTop, int gridWidth, int gridHeight, double scale) {
       // determine grid spacing based on zoom level
       int gridSpacing = calculateGridSpacing(scale);
 
@@ -308,7 +341,7 @@ public class RadarScreen extends Screen {
             int lineTop = Math.max(gridTop, worldToScreenY(-WORLD_HALF_SIZE, gridTop, gridHeight, scale));
             int lineBottom = Math.min(gridTop + gridHeight, worldToScreenY(WORLD_HALF_SIZE, gridTop, gridHeight, scale));
             if (lineBottom > lineTop) {
-               guiGraphics.fill(screenX, lineTop, screenX + 1, lineBottom, color);
+               layer.fill(screenX, lineTop, screenX + 1, lineBottom, color);
             }
          }
       }
@@ -324,7 +357,7 @@ public class RadarScreen extends Screen {
             int lineLeft = Math.max(0, worldToScreenX(-WORLD_HALF_SIZE, gridWidth, scale));
             int lineRight = Math.min(gridWidth, worldToScreenX(WORLD_HALF_SIZE, gridWidth, scale));
             if (lineRight > lineLeft) {
-               guiGraphics.fill(lineLeft, screenY, lineRight, screenY + 1, color);
+               layer.fill(lineLeft, screenY, lineRight, screenY + 1, color);
             }
          }
       }
@@ -342,7 +375,7 @@ public class RadarScreen extends Screen {
          int axisLeft = Math.max(0, worldLeftScreen);
          int axisRight = Math.min(gridWidth, worldRightScreen);
          if (axisRight > axisLeft) {
-            guiGraphics.fill(axisLeft, originScreenY, axisRight, originScreenY + 2, 0xA0FF4444);
+            layer.fill(axisLeft, originScreenY, axisRight, originScreenY + 2, 0xA0FF4444);
          }
       }
       // z-axis (x = 0) - blue
@@ -350,19 +383,19 @@ public class RadarScreen extends Screen {
          int axisTop = Math.max(gridTop, worldTopScreen);
          int axisBottom = Math.min(gridTop + gridHeight, worldBottomScreen);
          if (axisBottom > axisTop) {
-            guiGraphics.fill(originScreenX, axisTop, originScreenX + 2, axisBottom, 0xA04444FF);
+            layer.fill(originScreenX, axisTop, originScreenX + 2, axisBottom, 0xA04444FF);
          }
       }
 
       // draw coordinate labels
-      renderGridLabels(guiGraphics, gridTop, gridWidth, gridHeight, scale, gridSpacing,
+      recordGridLabels(layer, gridTop, gridWidth, gridHeight, scale, gridSpacing,
               clampedWorldLeft, clampedWorldRight, clampedWorldTop, clampedWorldBottom);
    }
 
    /**
-    * Renders the blue world border at ±20,000 blocks.
+    * Records the blue world border at ±20,000 blocks.
     */
-   private void renderWorldBorder(GuiGraphics guiGraphics, int gridTop, int gridWidth, int gridHeight, double scale) {
+   private void recordWorldBorder(RadarGridLayer layer, int gridTop, int gridWidth, int gridHeight, double scale) {
       int borderColor = 0xFF4488FF; // bright blue
 
       // calculate screen positions of world bounds
@@ -376,7 +409,7 @@ public class RadarScreen extends Screen {
          int top = Math.max(gridTop, topEdge);
          int bottom = Math.min(gridTop + gridHeight, bottomEdge);
          if (bottom > top) {
-            guiGraphics.fill(leftEdge, top, leftEdge + WORLD_BORDER_THICKNESS, bottom, borderColor);
+            layer.fill(leftEdge, top, leftEdge + WORLD_BORDER_THICKNESS, bottom, borderColor);
          }
       }
 
@@ -385,7 +418,7 @@ public class RadarScreen extends Screen {
          int top = Math.max(gridTop, topEdge);
          int bottom = Math.min(gridTop + gridHeight, bottomEdge);
          if (bottom > top) {
-            guiGraphics.fill(rightEdge - WORLD_BORDER_THICKNESS, top, rightEdge, bottom, borderColor);
+            layer.fill(rightEdge - WORLD_BORDER_THICKNESS, top, rightEdge, bottom, borderColor);
          }
       }
 
@@ -394,7 +427,7 @@ public class RadarScreen extends Screen {
          int left = Math.max(0, leftEdge);
          int right = Math.min(gridWidth, rightEdge);
          if (right > left) {
-            guiGraphics.fill(left, topEdge, right, topEdge + WORLD_BORDER_THICKNESS, borderColor);
+            layer.fill(left, topEdge, right, topEdge + WORLD_BORDER_THICKNESS, borderColor);
          }
       }
 
@@ -403,7 +436,7 @@ public class RadarScreen extends Screen {
          int left = Math.max(0, leftEdge);
          int right = Math.min(gridWidth, rightEdge);
          if (right > left) {
-            guiGraphics.fill(left, bottomEdge - WORLD_BORDER_THICKNESS, right, bottomEdge, borderColor);
+            layer.fill(left, bottomEdge - WORLD_BORDER_THICKNESS, right, bottomEdge, borderColor);
          }
       }
 
@@ -412,18 +445,18 @@ public class RadarScreen extends Screen {
 
       // left outside area
       if (leftEdge > 0) {
-         guiGraphics.fill(0, gridTop, Math.min(leftEdge, gridWidth), gridTop + gridHeight, outsideColor);
+         layer.fill(0, gridTop, Math.min(leftEdge, gridWidth), gridTop + gridHeight, outsideColor);
       }
       // right outside area
       if (rightEdge < gridWidth) {
-         guiGraphics.fill(Math.max(0, rightEdge), gridTop, gridWidth, gridTop + gridHeight, outsideColor);
+         layer.fill(Math.max(0, rightEdge), gridTop, gridWidth, gridTop + gridHeight, outsideColor);
       }
       // top outside area (between left and right borders)
       if (topEdge > gridTop) {
          int left = Math.max(0, leftEdge);
          int right = Math.min(gridWidth, rightEdge);
          if (right > left) {
-            guiGraphics.fill(left, gridTop, right, Math.min(topEdge, gridTop + gridHeight), outsideColor);
+            layer.fill(left, gridTop, right, Math.min(topEdge, gridTop + gridHeight), outsideColor);
          }
       }
       // bottom outside area (between left and right borders)
@@ -431,7 +464,7 @@ public class RadarScreen extends Screen {
          int left = Math.max(0, leftEdge);
          int right = Math.min(gridWidth, rightEdge);
          if (right > left) {
-            guiGraphics.fill(left, Math.max(gridTop, bottomEdge), right, gridTop + gridHeight, outsideColor);
+            layer.fill(left, Math.max(gridTop, bottomEdge), right, gridTop + gridHeight, outsideColor);
          }
       }
    }
@@ -466,9 +499,9 @@ public class RadarScreen extends Screen {
    }
 
    /**
-    * Renders coordinate labels at grid intersections.
+    * Records coordinate labels at grid intersections.
     */
-   private void renderGridLabels(GuiGraphics guiGraphics, int gridTop, int gridWidth, int gridHeight,
+   private void recordGridLabels(RadarGridLayer layer, int gridTop, int gridWidth, int gridHeight,
                                  double scale, int gridSpacing, double worldLeft, double worldRight,
                                  double worldTop, double worldBottom) {
       // determine label spacing based on zoom - more labels visible now
@@ -491,8 +524,8 @@ public class RadarScreen extends Screen {
             String label = String.valueOf(worldX);
             // background for readability
             int labelWidth = this.font.width(label);
-            guiGraphics.fill(screenX + 1, gridTop + 1, screenX + labelWidth + 3, gridTop + this.font.lineHeight + 2, 0xA0000000);
-            guiGraphics.drawString(this.font, label, screenX + 2, gridTop + 2, 0xFFFFFFFF, false);
+            layer.fill(screenX + 1, gridTop + 1, screenX + labelWidth + 3, gridTop + this.font.lineHeight + 2, 0xA0000000);
+            layer.text(label, screenX + 2, gridTop + 2, 0xFFFFFFFF);
          }
       }
 
@@ -504,8 +537,8 @@ public class RadarScreen extends Screen {
             String label = String.valueOf(worldZ);
             int labelWidth = this.font.width(label);
             // background for readability
-            guiGraphics.fill(1, screenY + 1, labelWidth + 4, screenY + this.font.lineHeight + 2, 0xA0000000);
-            guiGraphics.drawString(this.font, label, 2, screenY + 2, 0xFFFFFFFF, false);
+            layer.fill(1, screenY + 1, labelWidth + 4, screenY + this.font.lineHeight + 2, 0xA0000000);
+            layer.text(label, 2, screenY + 2, 0xFFFFFFFF);
          }
       }
    }
@@ -670,6 +703,59 @@ public class RadarScreen extends Screen {
       guiGraphics.drawString(this.font, zoomText, barX, barY - this.font.lineHeight - 2, textColor, false);
    }
 
+   /**
+    * Draws the visited-chunk and POI layers for the current dimension.
+    * <p>
+    * Each layer picks the pyramid level whose tiles are big enough on screen, so a frame only
+    * touches the tiles in view no matter how much data has been collected.
+    */
+   private void renderDataLayers(GuiGraphics guiGraphics, int gridTop, int gridWidth, int gridHeight, double scale) {
+      if (this.minecraft.level == null) return;
+      LifestealContext.Dimension dimension = LifestealContext.current().dimension();
+
+      double worldLeft = screenToWorldX(0, gridWidth, scale);
+      double worldRight = screenToWorldX(gridWidth, gridWidth, scale);
+      double worldTop = screenToWorldZ(gridTop, gridTop, gridHeight, scale);
+      double worldBottom = screenToWorldZ(gridTop + gridHeight, gridTop, gridHeight, scale);
+
+      // POI markers sit at their first point, so tiles on the view edge can draw past it
+      guiGraphics.enableScissor(0, gridTop, gridWidth, gridTop + gridHeight);
+      TilePyramid visited = RadarLayers.getInstance().visitedChunks(dimension);
+      if (visited != null) {
+         int level = TilePyramid.levelFor(scale, MIN_VISITED_TILE_PIXELS);
+         int size = TilePyramid.tileSize(level);
+         // a tile can hold one chunk per 16x16 block square
+         double chunksPerTile = (double) (1 << level) * (1 << level);
+         visited.forEachTile(level, worldLeft, worldTop, worldRight, worldBottom, tile -> {
+            int left = Math.max(0, worldToScreenX((double) tile.tileX() * size, gridWidth, scale));
+            int top = Math.max(gridTop, worldToScreenY((double) tile.tileZ() * size, gridTop, gridHeight, scale));
+            int right = Math.min(gridWidth, worldToScreenX((double) (tile.tileX() + 1) * size, gridWidth, scale));
+            int bottom = Math.min(gridTop + gridHeight, worldToScreenY((double) (tile.tileZ() + 1) * size, gridTop, gridHeight, scale));
+            if (right <= left || bottom <= top) return;
+
+            // denser tiles are more opaque
+            int alpha = 0x20 + (int) (0x40 * Math.min(1.0, tile.count() / chunksPerTile));
+            guiGraphics.fill(left, top, right, bottom, (alpha << 24) | 0x3399FF);
+         });
+      }
+
+      TilePyramid pois = RadarLayers.getInstance().pois(dimension);
+      if (pois != null) {
+         int level = TilePyramid.levelFor(scale, MIN_POI_TILE_PIXELS);
+         int half = POI_MARKER_SIZE / 2;
+         pois.forEachTile(level, worldLeft, worldTop, worldRight, worldBottom, tile -> {
+            int screenX = worldToScreenX(tile.x(), gridWidth, scale);
+            int screenY = worldToScreenY(tile.z(), gridTop, gridHeight, scale);
+            guiGraphics.fill(screenX - half, screenY - half, screenX + half, screenY + half, 0xFFFFAA00);
+            String label = tile.count() == 1 ? tile.label() : "×" + tile.count();
+            if (label != null) {
+               guiGraphics.drawString(this.font, label, screenX + half + 2, screenY - this.font.lineHeight / 2, 0xFFFFDD88, true);
+            }
+         });
+      }
+      guiGraphics.disableScissor();
+   }
+
    /**
     * Converts world X coordinate to screen X coordinate.
     */